@@ -0,0 +1,20 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+public interface BenchmarkSchedulers {
+
+    static Scheduler byName(String name) {
+        switch (name) {
+            case "immediate":
+                return Schedulers.immediate();
+            case "parallel":
+                return Schedulers.parallel();
+            case "boundedElastic":
+                return Schedulers.boundedElastic();
+            default:
+                throw new IllegalArgumentException("Unknown scheduler: " + name);
+        }
+    }
+}
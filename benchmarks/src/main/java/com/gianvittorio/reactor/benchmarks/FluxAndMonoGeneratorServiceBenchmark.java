@@ -0,0 +1,95 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import com.gianvittorio.reactor.service.FluxAndMonoGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FluxAndMonoGeneratorServiceBenchmark {
+
+    private final FluxAndMonoGeneratorService generatorService = new FluxAndMonoGeneratorService();
+
+    @Benchmark
+    public List<String> nameFluxFilterGreaterThan() {
+        return generatorService.nameFluxFilterGreaterThan(3)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> nameMonoFlatMap() {
+        return generatorService.nameMonoFlatMap(3)
+                .block();
+    }
+
+    @Benchmark
+    public List<String> namesFluxTransform() {
+        return generatorService.namesFluxTransform(3)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> namesFluxFlatMap() {
+        return generatorService.namesFluxFlatMap(3)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> exploreConcat() {
+        return generatorService.exploreConcat()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> exploreZip() {
+        return generatorService.exploreZip()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> exploreZip1() {
+        return generatorService.exploreZip1()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> exploreZipWith() {
+        return generatorService.exploreZipWith()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<Integer> exploreGenerate() {
+        return generatorService.exploreGenerate()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<String> exploreHandle() {
+        return generatorService.exploreHandle()
+                .collectList()
+                .block();
+    }
+}
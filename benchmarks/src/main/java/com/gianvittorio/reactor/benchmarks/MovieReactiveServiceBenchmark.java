@@ -0,0 +1,107 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.service.MovieReactiveService;
+import com.gianvittorio.reactor.service.ReactiveRevenueService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieReactiveServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int catalogSize;
+
+    @Param({"1", "10"})
+    private int reviewsPerMovie;
+
+    @Param({"immediate", "parallel", "boundedElastic"})
+    private String scheduler;
+
+    private ReactiveRevenueService reactiveRevenueService;
+
+    private MovieReactiveService movieReactiveService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Scheduler benchmarkScheduler = BenchmarkSchedulers.byName(scheduler);
+
+        reactiveRevenueService = new ReactiveRevenueService(new StubRevenueService(), 64, catalogSize);
+        movieReactiveService = new MovieReactiveService(
+                new StubMovieInfoService(catalogSize, benchmarkScheduler),
+                new StubReviewService(reviewsPerMovie, benchmarkScheduler),
+                reactiveRevenueService
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reactiveRevenueService.dispose();
+    }
+
+    @Benchmark
+    public Long getAllMovies() {
+        return movieReactiveService.getAllMovies()
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long getAllMoviesRestClient() {
+        return movieReactiveService.getAllMoviesRestClient()
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long getAllMoviesBatched() {
+        return movieReactiveService.getAllMoviesBatched(100, Duration.ofMillis(10))
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long getAllMoviesWithRevenue() {
+        return movieReactiveService.getAllMoviesWithRevenue(64)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Movie getMovieById() {
+        return movieReactiveService.getMovieById(catalogSize / 2)
+                .block();
+    }
+
+    @Benchmark
+    public Movie getMovieByIdRestClient() {
+        return movieReactiveService.getMovieByIdRestClient(catalogSize / 2)
+                .block();
+    }
+
+    @Benchmark
+    public Movie getMovieByIdWithRevenue() {
+        return movieReactiveService.getMovieByIdWithRevenue(catalogSize / 2)
+                .block();
+    }
+}
@@ -0,0 +1,56 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import com.gianvittorio.reactor.domain.MovieInfo;
+import com.gianvittorio.reactor.service.MovieInfoService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class StubMovieInfoService extends MovieInfoService {
+
+    private final List<MovieInfo> catalog;
+
+    private final Scheduler scheduler;
+
+    public StubMovieInfoService(int catalogSize, Scheduler scheduler) {
+        this.catalog = LongStream.range(0, catalogSize)
+                .mapToObj(StubMovieInfoService::movieInfo)
+                .collect(Collectors.toList());
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<MovieInfo> retrieveMoviesFlux() {
+        return Flux.fromIterable(catalog)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<MovieInfo> retrieveAllMovieInfoRestClient() {
+        return retrieveMoviesFlux();
+    }
+
+    @Override
+    public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
+        return Mono.fromSupplier(() -> movieInfo(movieId))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<MovieInfo> retrieveAllMovieInfoByIdRestClient(long movieId) {
+        return retrieveMovieInfoMonoUsingId(movieId);
+    }
+
+    private static MovieInfo movieInfo(long movieId) {
+        return MovieInfo.builder()
+                .movieInfoId(movieId)
+                .name("Movie " + movieId)
+                .year(2005)
+                .cast(List.of("Christian Bale", "Liam Neeson"))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import com.gianvittorio.reactor.domain.Revenue;
+import com.gianvittorio.reactor.service.RevenueService;
+
+public class StubRevenueService extends RevenueService {
+
+    @Override
+    public Revenue getRevenue(long movieId) {
+        return Revenue.builder()
+                .movieInfoId(movieId)
+                .budget(1_000_1000)
+                .boxOffice(5_000_1000)
+                .build();
+    }
+}
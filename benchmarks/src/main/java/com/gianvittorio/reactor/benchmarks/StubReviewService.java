@@ -0,0 +1,57 @@
+package com.gianvittorio.reactor.benchmarks;
+
+import com.gianvittorio.reactor.domain.Review;
+import com.gianvittorio.reactor.service.ReviewService;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class StubReviewService extends ReviewService {
+
+    private final int reviewsPerMovie;
+
+    private final Scheduler scheduler;
+
+    public StubReviewService(int reviewsPerMovie, Scheduler scheduler) {
+        this.reviewsPerMovie = reviewsPerMovie;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public List<Review> retrieveReviews(long movieInfoId) {
+        return LongStream.range(0, reviewsPerMovie)
+                .mapToObj(reviewId -> Review.builder()
+                        .reviewId(reviewId)
+                        .movieInfoId(movieInfoId)
+                        .comment("Excellent movie")
+                        .rating(9.)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFlux(long movieInfoId) {
+        return Flux.defer(() -> Flux.fromIterable(retrieveReviews(movieInfoId)))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxRestClient(long movieInfoId) {
+        return retrieveReviewsFlux(movieInfoId);
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxBatch(List<Long> movieInfoIds) {
+        return Flux.fromIterable(movieInfoIds)
+                .flatMapIterable(this::retrieveReviews)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxBatchRestClient(List<Long> movieInfoIds) {
+        return retrieveReviewsFluxBatch(movieInfoIds);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gianvittorio.reactor.backpressure;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.util.concurrent.Queues;
+
+@Value
+@Builder(toBuilder = true)
+public class BackpressureConfig {
+
+    @Builder.Default
+    OverflowStrategy strategy = OverflowStrategy.NONE;
+
+    @Builder.Default
+    int bufferSize = Queues.SMALL_BUFFER_SIZE;
+
+    @Builder.Default
+    int highTide = Queues.XS_BUFFER_SIZE;
+
+    @Builder.Default
+    int lowTide = Queues.XS_BUFFER_SIZE * 3 / 4;
+
+    public static BackpressureConfig defaults() {
+        return BackpressureConfig.builder().build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.gianvittorio.reactor.backpressure;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Slf4j
+public class BackpressureGuard implements Disposable {
+
+    private static final String METER_NAME = "movies.backpressure";
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final MeterRegistry registry;
+
+    private final Gauge bufferedGauge;
+
+    private volatile boolean disposed;
+
+    public BackpressureGuard(String name) {
+        this.name = name;
+        this.registry = ServiceMetrics.registry();
+
+        this.bufferedGauge = Gauge.builder(METER_NAME + ".buffered", buffered, AtomicInteger::get)
+                .tag(NAME_TAG, name)
+                .register(registry);
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        registry.remove(bufferedGauge);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transform(String pipeline, BackpressureConfig config) {
+        return transform(pipeline, config, element -> {
+        });
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transform(String pipeline, BackpressureConfig config, Consumer<? super T> onSpill) {
+        if (config.getStrategy() == OverflowStrategy.NONE) {
+            return Function.identity();
+        }
+
+        if (config.getBufferSize() < 1 || config.getLowTide() < 0 || config.getHighTide() < 1) {
+            throw new IllegalArgumentException("bufferSize and highTide must be positive and lowTide non-negative");
+        }
+
+        Counter dropped = Counter.builder(METER_NAME + ".dropped")
+                .tag(NAME_TAG, name)
+                .tag("pipeline", pipeline)
+                .tag("strategy", config.getStrategy().name())
+                .register(ServiceMetrics.registry());
+
+        return flux -> Flux.defer(() -> {
+            AtomicInteger pending = new AtomicInteger();
+
+            Consumer<T> spill = element -> {
+                dropped.increment();
+                pending.decrementAndGet();
+                buffered.decrementAndGet();
+
+                log.warn("Backpressure overflow in pipeline '{}' with strategy {}, dropping element", pipeline, config.getStrategy());
+
+                onSpill.accept(element);
+            };
+
+            return flux.doOnNext(element -> {
+                        pending.incrementAndGet();
+                        buffered.incrementAndGet();
+                    })
+                    .transform(source -> applyStrategy(source, config, spill))
+                    .doOnNext(element -> {
+                        pending.decrementAndGet();
+                        buffered.decrementAndGet();
+                    })
+                    .doFinally(signalType -> buffered.addAndGet(-pending.getAndSet(0)));
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int bufferedCount() {
+        return buffered.get();
+    }
+
+    private <T> Flux<T> applyStrategy(Flux<T> source, BackpressureConfig config, Consumer<T> spill) {
+        switch (config.getStrategy()) {
+            case BUFFER:
+                return source.onBackpressureBuffer(config.getBufferSize(), spill, BufferOverflowStrategy.ERROR);
+            case DROP_OLDEST:
+                return source.onBackpressureBuffer(config.getBufferSize(), spill, BufferOverflowStrategy.DROP_OLDEST);
+            case LATEST:
+                return source.onBackpressureBuffer(1, spill, BufferOverflowStrategy.DROP_OLDEST);
+            case RATE_LIMIT:
+                return source.limitRate(config.getHighTide(), config.getLowTide());
+            default:
+                return source;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gianvittorio.reactor.backpressure;
+
+public enum OverflowStrategy {
+    NONE,
+    BUFFER,
+    DROP_OLDEST,
+    LATEST,
+    RATE_LIMIT
+}
@@ -0,0 +1,27 @@
+package com.gianvittorio.reactor.batch;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class BatchingConfig {
+
+    @Builder.Default
+    int batchSize = 500;
+
+    @Builder.Default
+    int requestSize = 500;
+
+    @Builder.Default
+    Duration flushInterval = Duration.ofSeconds(1);
+
+    @Builder.Default
+    int maxInFlightFlushes = 2;
+
+    public static BatchingConfig defaults() {
+        return BatchingConfig.builder().build();
+    }
+}
@@ -0,0 +1,321 @@
+package com.gianvittorio.reactor.batch;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Slf4j
+public class BatchingSubscriber<T> extends BaseSubscriber<T> {
+
+    private static final String METER_NAME = "movies.batch";
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+
+    private final Function<List<T>, Mono<Void>> flusher;
+
+    private final BatchingConfig config;
+
+    private final Scheduler timer;
+
+    private final Sinks.Empty<Void> completion = Sinks.empty();
+
+    private final Deque<List<T>> pool = new ArrayDeque<>();
+
+    private final Deque<Batch> ready = new ArrayDeque<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final MeterRegistry registry;
+
+    private final Gauge pendingGauge;
+
+    private final Gauge inFlightGauge;
+
+    private final Timer lag;
+
+    private final Counter flushed;
+
+    private final Counter failed;
+
+    private Batch current;
+
+    private long outstanding;
+
+    private boolean done;
+
+    private Throwable error;
+
+    private Disposable ticker;
+
+    public BatchingSubscriber(String name, Function<List<T>, Mono<Void>> flusher, BatchingConfig config, Scheduler timer) {
+        if (config.getBatchSize() < 1 || config.getRequestSize() < 1 || config.getMaxInFlightFlushes() < 1) {
+            throw new IllegalArgumentException("batchSize, requestSize and maxInFlightFlushes must be positive");
+        }
+
+        this.name = name;
+        this.flusher = flusher;
+        this.config = config;
+        this.timer = timer;
+
+        this.registry = ServiceMetrics.registry();
+
+        this.pendingGauge = Gauge.builder(METER_NAME + ".pending", pending, AtomicInteger::get)
+                .tag(NAME_TAG, name)
+                .register(registry);
+        this.inFlightGauge = Gauge.builder(METER_NAME + ".inFlight", inFlight, AtomicInteger::get)
+                .tag(NAME_TAG, name)
+                .register(registry);
+        this.lag = Timer.builder(METER_NAME + ".lag")
+                .tag(NAME_TAG, name)
+                .register(registry);
+        this.flushed = Counter.builder(METER_NAME + ".flushes")
+                .tag(NAME_TAG, name)
+                .tag("outcome", "success")
+                .register(registry);
+        this.failed = Counter.builder(METER_NAME + ".flushes")
+                .tag(NAME_TAG, name)
+                .tag("outcome", "error")
+                .register(registry);
+    }
+
+    public BatchingSubscriber(String name, Function<List<T>, Mono<Void>> flusher, BatchingConfig config) {
+        this(name, flusher, config, Schedulers.parallel());
+    }
+
+    public Mono<Void> completion() {
+        return completion.asMono();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        Duration interval = config.getFlushInterval();
+
+        if (interval != null && !interval.isZero()) {
+            ticker = timer.schedulePeriodically(this::flushIfExpired, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        drain();
+    }
+
+    @Override
+    protected void hookOnNext(T value) {
+        synchronized (this) {
+            if (current == null) {
+                current = new Batch(acquireList(), System.nanoTime());
+            }
+
+            current.elements.add(value);
+            pending.incrementAndGet();
+            --outstanding;
+
+            if (current.elements.size() >= config.getBatchSize()) {
+                ready.add(current);
+                current = null;
+            }
+        }
+
+        drain();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        terminate(null);
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        terminate(throwable);
+    }
+
+    @Override
+    protected void hookOnCancel() {
+        terminate(null);
+    }
+
+    @Override
+    protected void hookFinally(SignalType type) {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+    }
+
+    private void terminate(Throwable throwable) {
+        synchronized (this) {
+            if (current != null) {
+                ready.add(current);
+                current = null;
+            }
+
+            done = true;
+
+            if (error == null) {
+                error = throwable;
+            }
+        }
+
+        drain();
+    }
+
+    private void flushIfExpired() {
+        synchronized (this) {
+            if (current == null || System.nanoTime() - current.startNanos < config.getFlushInterval().toNanos()) {
+                return;
+            }
+
+            ready.add(current);
+            current = null;
+        }
+
+        drain();
+    }
+
+    private void drain() {
+        List<Batch> toFlush = new ArrayList<>();
+        long toRequest = 0;
+        boolean finished = false;
+        Throwable failure = null;
+
+        synchronized (this) {
+            while (inFlight.get() < config.getMaxInFlightFlushes() && !ready.isEmpty()) {
+                inFlight.incrementAndGet();
+                toFlush.add(ready.poll());
+            }
+
+            // Only ask for the next chunk once the previous one has arrived and no full batch is waiting for a flush slot
+            if (!done && outstanding <= 0 && ready.isEmpty()) {
+                toRequest = config.getRequestSize();
+                outstanding += toRequest;
+            }
+
+            if (done && ready.isEmpty() && inFlight.get() == 0) {
+                finished = true;
+                failure = error;
+            }
+        }
+
+        toFlush.forEach(this::flush);
+
+        if (toRequest > 0) {
+            request(toRequest);
+        }
+
+        if (finished) {
+            // Subscribers are per export, so their gauges go away with them rather than piling up in the registry
+            registry.remove(pendingGauge);
+            registry.remove(inFlightGauge);
+
+            if (failure != null) {
+                completion.tryEmitError(failure);
+            } else {
+                completion.tryEmitEmpty();
+            }
+        }
+    }
+
+    private void flush(Batch batch) {
+        int size = batch.elements.size();
+
+        Mono.defer(() -> flusher.apply(batch.elements))
+                .subscribe(
+                        null,
+                        ex -> {
+                            log.error("Flush of {} elements failed for batching subscriber '{}'", size, name, ex);
+                            failed.increment();
+
+                            synchronized (this) {
+                                if (error == null) {
+                                    error = ex;
+                                }
+
+                                // Nothing queued behind a failed flush is written, so stop tracking it as pending
+                                ready.forEach(discarded -> pending.addAndGet(-discarded.elements.size()));
+                                ready.clear();
+
+                                if (current != null) {
+                                    pending.addAndGet(-current.elements.size());
+                                    current = null;
+                                }
+                            }
+
+                            cancel();
+                            release(batch, size);
+                        },
+                        () -> {
+                            flushed.increment();
+                            release(batch, size);
+                        }
+                );
+    }
+
+    private void release(Batch batch, int size) {
+        lag.record(System.nanoTime() - batch.startNanos, TimeUnit.NANOSECONDS);
+        pending.addAndGet(-size);
+
+        synchronized (this) {
+            // Batches are recycled, so a flusher must not hold on to the list once its Mono terminates
+            batch.elements.clear();
+
+            if (pool.size() < config.getMaxInFlightFlushes() + 1) {
+                pool.push(batch.elements);
+            }
+        }
+
+        inFlight.decrementAndGet();
+
+        drain();
+    }
+
+    private List<T> acquireList() {
+        List<T> elements = pool.poll();
+
+        return elements != null ? elements : new ArrayList<>(config.getBatchSize());
+    }
+
+    private class Batch {
+
+        private final List<T> elements;
+
+        private final long startNanos;
+
+        Batch(List<T> elements, long startNanos) {
+            this.elements = elements;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.gianvittorio.reactor.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+public class ReactiveCache<K, V> {
+
+    private final AsyncLoadingCache<K, Optional<V>> cache;
+
+    public ReactiveCache(Function<K, Mono<V>> loader, ReactiveCacheConfig config) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new PositiveNegativeExpiry<K, V>(config))
+                .refreshAfterWrite(config.getRefreshAfterWrite())
+                .recordStats()
+                .buildAsync((key, executor) -> loader.apply(key)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture());
+    }
+
+    public Mono<V> get(K key) {
+        // A copy keeps a cancelled subscriber from cancelling the future shared with every other caller
+        return Mono.fromFuture(() -> cache.get(key).copy())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public void monitor(MeterRegistry registry, String cacheName) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), cacheName);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private static class PositiveNegativeExpiry<K, V> implements Expiry<K, Optional<V>> {
+
+        private final long expireAfterWriteNanos;
+
+        private final long negativeExpireAfterWriteNanos;
+
+        private PositiveNegativeExpiry(ReactiveCacheConfig config) {
+            this.expireAfterWriteNanos = config.getExpireAfterWrite().toNanos();
+            this.negativeExpireAfterWriteNanos = config.getNegativeExpireAfterWrite().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+            return value.isPresent() ? expireAfterWriteNanos : negativeExpireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gianvittorio.reactor.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class ReactiveCacheConfig {
+
+    @Builder.Default
+    long maximumSize = 10_000;
+
+    @Builder.Default
+    Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    @Builder.Default
+    Duration refreshAfterWrite = Duration.ofMinutes(1);
+
+    @Builder.Default
+    Duration negativeExpireAfterWrite = Duration.ofSeconds(30);
+
+    public static ReactiveCacheConfig defaults() {
+        return ReactiveCacheConfig.builder().build();
+    }
+}
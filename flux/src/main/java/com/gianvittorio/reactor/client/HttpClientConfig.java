@@ -0,0 +1,59 @@
+package com.gianvittorio.reactor.client;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@Value
+@Builder
+public class HttpClientConfig {
+
+    @Builder.Default
+    String poolName = "movies";
+
+    @Builder.Default
+    int maxConnections = 500;
+
+    @Builder.Default
+    int pendingAcquireMaxCount = 1_000;
+
+    @Builder.Default
+    Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    @Builder.Default
+    Duration maxIdleTime = Duration.ofSeconds(30);
+
+    @Builder.Default
+    Duration maxLifeTime = Duration.ofMinutes(5);
+
+    @Builder.Default
+    Duration evictInBackground = Duration.ofSeconds(30);
+
+    @Builder.Default
+    List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+
+    @Builder.Default
+    boolean compress = true;
+
+    @Builder.Default
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    @Builder.Default
+    Duration readTimeout = Duration.ofSeconds(5);
+
+    @Builder.Default
+    Duration responseTimeout = Duration.ofSeconds(5);
+
+    @Builder.Default
+    int maxInMemorySize = 256 * 1024;
+
+    @Builder.Default
+    boolean metricsEnabled = true;
+
+    public static HttpClientConfig defaults() {
+        return HttpClientConfig.builder().build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.gianvittorio.reactor.client;
+
+import com.gianvittorio.reactor.deadline.Deadlines;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class WebClientFactory implements Disposable {
+
+    private final ConnectionProvider connectionProvider;
+
+    private final HttpClient httpClient;
+
+    private final int maxInMemorySize;
+
+    public WebClientFactory(HttpClientConfig config) {
+        this.maxInMemorySize = config.getMaxInMemorySize();
+        this.connectionProvider = ConnectionProvider.builder(config.getPoolName())
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+                .maxIdleTime(config.getMaxIdleTime())
+                .maxLifeTime(config.getMaxLifeTime())
+                .evictInBackground(config.getEvictInBackground())
+                .metrics(config.isMetricsEnabled())
+                .build();
+
+        this.httpClient = HttpClient.create(connectionProvider)
+                .protocol(config.getProtocols().toArray(new HttpProtocol[0]))
+                .compress(config.isCompress())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .responseTimeout(config.getResponseTimeout())
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(config.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                ))
+                .metrics(config.isMetricsEnabled(), Function.identity());
+    }
+
+    public WebClientFactory() {
+        this(HttpClientConfig.defaults());
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public WebClient createWebClient(String baseUrl) {
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .filter(Deadlines.propagatingFilter())
+                .build();
+    }
+
+    @Override
+    public void dispose() {
+        connectionProvider.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return connectionProvider.isDisposed();
+    }
+}
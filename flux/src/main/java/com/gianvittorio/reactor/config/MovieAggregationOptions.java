@@ -0,0 +1,77 @@
+package com.gianvittorio.reactor.config;
+
+import com.gianvittorio.reactor.backpressure.BackpressureConfig;
+import com.gianvittorio.reactor.exception.MovieException;
+import com.gianvittorio.reactor.feed.SharedFeedConfig;
+import com.gianvittorio.reactor.repeat.RepeatPolicy;
+import com.gianvittorio.reactor.retry.RetryBudget;
+import com.gianvittorio.reactor.retry.RetryPolicies;
+import com.gianvittorio.reactor.retry.RetryPolicy;
+import com.gianvittorio.reactor.util.RequestBudget;
+import lombok.Builder;
+import lombok.Value;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class MovieAggregationOptions {
+
+    @Builder.Default
+    int concurrency = Queues.SMALL_BUFFER_SIZE;
+
+    @Builder.Default
+    int prefetch = Queues.XS_BUFFER_SIZE;
+
+    @Builder.Default
+    boolean ordered = false;
+
+    @Builder.Default
+    int reorderBufferSize = 0;
+
+    @Builder.Default
+    int maxQueuedBatches = Queues.SMALL_BUFFER_SIZE;
+
+    @Builder.Default
+    RequestBudget requestBudget = RequestBudget.unlimited();
+
+    @Builder.Default
+    RetryBudget retryBudget = RetryBudget.defaults();
+
+    @Builder.Default
+    RetryPolicies retryPolicies = RetryPolicies.none()
+            .with(MovieException.class, RetryPolicy.builder().maxRetries(3).minBackoff(Duration.ofMillis(500)).build());
+
+    @Builder.Default
+    RetryPolicies reviewRetryPolicies = RetryPolicies.none();
+
+    @Builder.Default
+    boolean degradeReviewsWhenOpen = false;
+
+    Duration deadline;
+
+    @Builder.Default
+    boolean partialResults = false;
+
+    Duration elementTimeout;
+
+    @Builder.Default
+    SharedFeedConfig sharedCatalog = SharedFeedConfig.defaults();
+
+    @Builder.Default
+    Duration changePollInterval = Duration.ofSeconds(5);
+
+    @Builder.Default
+    int changeBatchSize = 500;
+
+    @Builder.Default
+    RepeatPolicy repeatPolicy = RepeatPolicy.defaults();
+
+    @Builder.Default
+    BackpressureConfig backpressure = BackpressureConfig.defaults();
+
+    public static MovieAggregationOptions defaults() {
+        return MovieAggregationOptions.builder().build();
+    }
+}
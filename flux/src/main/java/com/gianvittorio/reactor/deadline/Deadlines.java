@@ -0,0 +1,99 @@
+package com.gianvittorio.reactor.deadline;
+
+import com.gianvittorio.reactor.exception.DeadlineExceededException;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+public interface Deadlines {
+
+    Class<Deadline> CONTEXT_KEY = Deadline.class;
+
+    String HEADER = "X-Request-Timeout-Ms";
+
+    static Optional<Deadline> current(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    static <T> Function<Flux<T>, Flux<T>> withinFlux(Duration timeout, Scheduler timer) {
+        if (timeout == null) {
+            return Function.identity();
+        }
+
+        return flux -> flux.transform(Deadlines.<T>enforceFlux(timer))
+                .contextWrite(context -> tighten(context, timeout));
+    }
+
+    static <T> Function<Flux<T>, Flux<T>> withinFlux(Duration timeout) {
+        return withinFlux(timeout, SchedulerRegistry.global().timer());
+    }
+
+    static <T> Function<Mono<T>, Mono<T>> withinMono(Duration timeout, Scheduler timer) {
+        if (timeout == null) {
+            return Function.identity();
+        }
+
+        return mono -> mono.transform(Deadlines.<T>enforceMono(timer))
+                .contextWrite(context -> tighten(context, timeout));
+    }
+
+    static <T> Function<Mono<T>, Mono<T>> withinMono(Duration timeout) {
+        return withinMono(timeout, SchedulerRegistry.global().timer());
+    }
+
+    static <T> Function<Flux<T>, Flux<T>> enforceFlux(Scheduler timer) {
+        return flux -> Flux.deferContextual(context -> current(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Flux.<T>error(Deadlines::exceeded)
+                        : flux.timeout(
+                                Mono.delay(deadline.remaining(), timer),
+                                // Each element restarts the timeout, so re-arm it with what is left of the deadline
+                                element -> Mono.delay(deadline.remaining(), timer),
+                                Flux.error(Deadlines::exceeded)
+                        ))
+                .orElse(flux));
+    }
+
+    static <T> Function<Flux<T>, Flux<T>> enforceFlux() {
+        return enforceFlux(SchedulerRegistry.global().timer());
+    }
+
+    static <T> Function<Mono<T>, Mono<T>> enforceMono(Scheduler timer) {
+        return mono -> Mono.deferContextual(context -> current(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Mono.<T>error(Deadlines::exceeded)
+                        : mono.timeout(deadline.remaining(), Mono.error(Deadlines::exceeded), timer))
+                .orElse(mono));
+    }
+
+    static <T> Function<Mono<T>, Mono<T>> enforceMono() {
+        return enforceMono(SchedulerRegistry.global().timer());
+    }
+
+    static ExchangeFilterFunction propagatingFilter() {
+        return (request, next) -> Mono.deferContextual(context -> current(context)
+                .map(deadline -> next.exchange(
+                        ClientRequest.from(request)
+                                .header(HEADER, String.valueOf(deadline.remaining().toMillis()))
+                                .build()
+                ))
+                .orElseGet(() -> next.exchange(request)));
+    }
+
+    private static Context tighten(Context context, Duration timeout) {
+        return context.put(CONTEXT_KEY, Deadline.after(timeout).min(context.getOrDefault(CONTEXT_KEY, null)));
+    }
+
+    private static DeadlineExceededException exceeded() {
+        return new DeadlineExceededException("Deadline exceeded, call cancelled");
+    }
+}
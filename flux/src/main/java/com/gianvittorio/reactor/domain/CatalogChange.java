@@ -0,0 +1,19 @@
+package com.gianvittorio.reactor.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class CatalogChange {
+
+    private Long movieInfoId;
+
+    private Long version;
+
+    private boolean deleted;
+}
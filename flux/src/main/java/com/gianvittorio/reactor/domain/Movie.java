@@ -15,4 +15,5 @@ public class Movie {
     private MovieInfo movieInfo;
     private List<Review> reviewList;
     private Revenue revenue;
+    private boolean partial;
 }
@@ -0,0 +1,21 @@
+package com.gianvittorio.reactor.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieChange {
+
+    private Long movieInfoId;
+
+    private Long version;
+
+    private Movie movie;
+
+    private boolean tombstone;
+}
@@ -0,0 +1,8 @@
+package com.gianvittorio.reactor.exception;
+
+public class BulkheadFullException extends ServiceException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.gianvittorio.reactor.exception;
+
+public class CallNotPermittedException extends ServiceException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
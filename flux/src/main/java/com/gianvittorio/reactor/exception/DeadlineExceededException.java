@@ -0,0 +1,8 @@
+package com.gianvittorio.reactor.exception;
+
+public class DeadlineExceededException extends ServiceException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
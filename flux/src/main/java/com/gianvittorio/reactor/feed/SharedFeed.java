@@ -0,0 +1,173 @@
+package com.gianvittorio.reactor.feed;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SharedFeed<T> implements Disposable {
+
+    private static final String METER_NAME = "movies.feed";
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+
+    private final Flux<T> source;
+
+    private final SharedFeedConfig config;
+
+    private final Scheduler timer;
+
+    private final Flux<T> shared;
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final AtomicLong connections = new AtomicLong();
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    private volatile boolean disposed;
+
+    private Generation generation;
+
+    public SharedFeed(String name, Flux<T> source, SharedFeedConfig config, Scheduler timer) {
+        if (config.getReplaySize() < 1 || config.getMinSubscribers() < 1) {
+            throw new IllegalArgumentException("replaySize and minSubscribers must be positive");
+        }
+
+        this.name = name;
+        this.source = source;
+        this.config = config;
+        this.timer = timer;
+
+        this.shared = Flux.defer(() -> join(currentGeneration()))
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signalType -> subscribers.decrementAndGet());
+
+        this.registry = ServiceMetrics.registry();
+        this.meters = List.of(
+                Gauge.builder(METER_NAME + ".subscribers", subscribers, AtomicInteger::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".connections", connections, AtomicLong::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry)
+        );
+    }
+
+    public SharedFeed(String name, Flux<T> source, SharedFeedConfig config) {
+        this(name, source, config, Schedulers.parallel());
+    }
+
+    public Flux<T> flux() {
+        return shared;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SharedFeedConfig getConfig() {
+        return config;
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    public long connectionCount() {
+        return connections.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        meters.forEach(registry::remove);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private Flux<T> join(Generation joined) {
+        return joined.flux
+                .switchOnFirst((first, replayed) -> {
+                    // The replay window no longer reaches back to the start of this run, so rather than hand out a
+                    // truncated catalog the late subscriber lets go of it and waits for the run to end, then joins
+                    // the next one together with every other late subscriber instead of restarting the upstream now
+                    if (first.hasValue() && first.get().getT1() > 0) {
+                        return replayed.take(0)
+                                .thenMany(joined.finished.asMono())
+                                .thenMany(Flux.defer(() -> join(nextGeneration(joined))));
+                    }
+
+                    return replayed.map(Tuple2::getT2);
+                });
+    }
+
+    private synchronized Generation currentGeneration() {
+        if (generation == null || generation.isStale()) {
+            generation = new Generation();
+        }
+
+        return generation;
+    }
+
+    private synchronized Generation nextGeneration(Generation truncated) {
+        if (generation == truncated) {
+            generation = new Generation();
+        }
+
+        return generation;
+    }
+
+    private class Generation {
+
+        private final Flux<Tuple2<Long, T>> flux;
+
+        private final Sinks.Empty<Void> finished = Sinks.empty();
+
+        private volatile long completedAtNanos = -1;
+
+        private volatile boolean failed;
+
+        Generation() {
+            ConnectableFlux<Tuple2<Long, T>> replay = source.doOnSubscribe(subscription -> connections.incrementAndGet())
+                    .doFinally(signalType -> finished.tryEmitEmpty())
+                    .index()
+                    .doOnComplete(() -> completedAtNanos = System.nanoTime())
+                    .doOnError(ex -> failed = true)
+                    .replay(config.getReplaySize());
+
+            this.flux = config.getGracePeriod() == null || config.getGracePeriod().isZero()
+                    ? replay.refCount(config.getMinSubscribers())
+                    : replay.refCount(config.getMinSubscribers(), config.getGracePeriod(), timer);
+        }
+
+        boolean isStale() {
+            if (failed) {
+                return true;
+            }
+
+            long completedAt = completedAtNanos;
+
+            return completedAt >= 0 && (config.getReplayTtl() == null || System.nanoTime() - completedAt >= config.getReplayTtl().toNanos());
+        }
+    }
+}
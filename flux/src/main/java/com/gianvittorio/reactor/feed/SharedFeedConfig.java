@@ -0,0 +1,29 @@
+package com.gianvittorio.reactor.feed;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class SharedFeedConfig {
+
+    // Subscribers that join a run after this many elements wait for it to end and share the next run
+    @Builder.Default
+    int replaySize = Queues.SMALL_BUFFER_SIZE;
+
+    @Builder.Default
+    Duration replayTtl = Duration.ofSeconds(30);
+
+    @Builder.Default
+    int minSubscribers = 1;
+
+    @Builder.Default
+    Duration gracePeriod = Duration.ofSeconds(5);
+
+    public static SharedFeedConfig defaults() {
+        return SharedFeedConfig.builder().build();
+    }
+}
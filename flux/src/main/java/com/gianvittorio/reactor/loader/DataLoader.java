@@ -0,0 +1,187 @@
+package com.gianvittorio.reactor.loader;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Slf4j
+public class DataLoader<K, V> implements Disposable {
+
+    public static final int DEFAULT_MAX_QUEUED_BATCHES = Queues.SMALL_BUFFER_SIZE;
+
+    private final Function<List<K>, Mono<Map<K, V>>> batchLoader;
+
+    private final int maxBatchSize;
+
+    private final Duration batchWindow;
+
+    private final int maxConcurrentBatches;
+
+    private final int maxQueuedBatches;
+
+    private final Map<K, Sinks.One<V>> inFlight = new ConcurrentHashMap<>();
+
+    private Sinks.Many<K> keys;
+
+    private volatile Disposable dispatcher;
+
+    public DataLoader(Function<List<K>, Mono<Map<K, V>>> batchLoader, int maxBatchSize, Duration batchWindow, int maxConcurrentBatches, int maxQueuedBatches) {
+        if (maxBatchSize < 1 || maxConcurrentBatches < 1 || maxQueuedBatches < 1) {
+            throw new IllegalArgumentException("maxBatchSize, maxConcurrentBatches and maxQueuedBatches must be positive");
+        }
+
+        this.batchLoader = batchLoader;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindow = batchWindow;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.maxQueuedBatches = maxQueuedBatches;
+        this.keys = newKeySink();
+    }
+
+    public DataLoader(Function<List<K>, Mono<Map<K, V>>> batchLoader, int maxBatchSize, Duration batchWindow, int maxConcurrentBatches) {
+        this(batchLoader, maxBatchSize, batchWindow, maxConcurrentBatches, DEFAULT_MAX_QUEUED_BATCHES);
+    }
+
+    public DataLoader(Function<List<K>, Mono<Map<K, V>>> batchLoader, int maxBatchSize, Duration batchWindow) {
+        this(batchLoader, maxBatchSize, batchWindow, 4);
+    }
+
+    public static <K, V> DataLoader<K, V> forSingleKey(Function<K, Mono<V>> loader) {
+        Function<List<K>, Mono<Map<K, V>>> batchLoader = batch -> Flux.fromIterable(batch)
+                .flatMap(key -> loader.apply(key).map(value -> Tuples.of(key, value)))
+                .collectMap(Tuple2::getT1, Tuple2::getT2);
+
+        return new DataLoader<>(batchLoader, 1, Duration.ofMillis(1), Integer.MAX_VALUE);
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            Sinks.One<V> candidate = Sinks.one();
+            Sinks.One<V> existing = inFlight.putIfAbsent(key, candidate);
+
+            if (existing != null) {
+                return existing.asMono();
+            }
+
+            emitKey(key, candidate);
+
+            return candidate.asMono();
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void dispose() {
+        Disposable current = dispatcher;
+
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        Disposable current = dispatcher;
+
+        return current != null && current.isDisposed();
+    }
+
+    private void emitKey(K key, Sinks.One<V> candidate) {
+        Sinks.EmitResult result;
+
+        synchronized (this) {
+            startDispatcher();
+
+            result = keys.tryEmitNext(key);
+        }
+
+        if (result.isFailure()) {
+            inFlight.remove(key, candidate);
+            // Besides a full key queue, an overflowing batch queue cancels the key sink while the batches
+            // already queued drain, so a rejected key is an overload unless the loader was disposed
+            candidate.tryEmitError(isDisposed()
+                    ? new IllegalStateException("DataLoader is disposed, rejected key: " + key)
+                    : Exceptions.failWithOverflow("DataLoader is overloaded, rejected key: " + key));
+        }
+    }
+
+    private void startDispatcher() {
+        if (dispatcher == null) {
+            // bufferTimeout cannot hold a timed-out batch back, so closed batches wait in a bounded queue
+            // for a dispatch slot; once it is full the dispatcher fails and every pending load gets the error
+            dispatcher = keys.asFlux()
+                    .bufferTimeout(maxBatchSize, batchWindow)
+                    .onBackpressureBuffer(maxQueuedBatches, BufferOverflowStrategy.ERROR)
+                    .flatMap(this::dispatch, maxConcurrentBatches)
+                    .subscribe(null, this::onDispatcherError);
+        }
+    }
+
+    private synchronized void onDispatcherError(Throwable ex) {
+        log.error("Batch dispatcher failed, failing {} pending keys: {}", inFlight.size(), ex.getMessage());
+
+        inFlight.keySet()
+                .forEach(key -> {
+                    Sinks.One<V> result = inFlight.remove(key);
+
+                    if (result != null) {
+                        result.tryEmitError(ex);
+                    }
+                });
+
+        keys = newKeySink();
+        dispatcher = null;
+    }
+
+    private Sinks.Many<K> newKeySink() {
+        int capacity = (int) Math.min(1 << 30, (long) maxBatchSize * maxQueuedBatches);
+
+        return Sinks.many().unicast().onBackpressureBuffer(Queues.<K>get(capacity).get());
+    }
+
+    private Mono<Void> dispatch(List<K> batch) {
+        return Mono.defer(() -> batchLoader.apply(batch))
+                .defaultIfEmpty(Collections.emptyMap())
+                .doOnNext(values -> batch.forEach(key -> {
+                    Sinks.One<V> result = inFlight.remove(key);
+                    V value = values.get(key);
+
+                    if (value == null) {
+                        result.tryEmitEmpty();
+                    } else {
+                        result.tryEmitValue(value);
+                    }
+                }))
+                .onErrorResume(ex -> {
+                    log.error("Batch load of {} keys failed: {}", batch.size(), ex.getMessage());
+
+                    batch.forEach(key -> {
+                        Sinks.One<V> result = inFlight.remove(key);
+
+                        if (result != null) {
+                            result.tryEmitError(ex);
+                        }
+                    });
+
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
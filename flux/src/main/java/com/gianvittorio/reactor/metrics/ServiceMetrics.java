@@ -0,0 +1,73 @@
+package com.gianvittorio.reactor.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Metrics;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface ServiceMetrics {
+
+    String METER_NAME = "movies.service";
+
+    String BLOCKING_METER_NAME = METER_NAME + ".blocking";
+
+    String SERVICE_TAG = "service";
+
+    String METHOD_TAG = "method";
+
+    static MeterRegistry useRegistry(MeterRegistry registry) {
+        registry.config()
+                .meterFilter(percentilesHistogram());
+
+        return Metrics.MicrometerConfiguration.useRegistry(registry);
+    }
+
+    static MeterRegistry registry() {
+        return Metrics.MicrometerConfiguration.getRegistry();
+    }
+
+    static <T> Function<Flux<T>, Flux<T>> instrumentFlux(String service, String method) {
+        return flux -> flux.name(METER_NAME)
+                .tag(SERVICE_TAG, service)
+                .tag(METHOD_TAG, method)
+                .metrics();
+    }
+
+    static <T> Function<Mono<T>, Mono<T>> instrumentMono(String service, String method) {
+        return mono -> mono.name(METER_NAME)
+                .tag(SERVICE_TAG, service)
+                .tag(METHOD_TAG, method)
+                .metrics();
+    }
+
+    static <T> T recordBlocking(String service, String method, Supplier<T> call) {
+        return Timer.builder(BLOCKING_METER_NAME)
+                .tag(SERVICE_TAG, service)
+                .tag(METHOD_TAG, method)
+                .register(registry())
+                .record(call);
+    }
+
+    private static MeterFilter percentilesHistogram() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith(METER_NAME)) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+
+                return config;
+            }
+        };
+    }
+}
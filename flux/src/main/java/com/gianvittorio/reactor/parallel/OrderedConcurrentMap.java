@@ -0,0 +1,229 @@
+package com.gianvittorio.reactor.parallel;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class OrderedConcurrentMap implements Disposable {
+
+    private static final String METER_NAME = "movies.ordered";
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+
+    private final Scheduler timer;
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final AtomicInteger peakBuffered = new AtomicInteger();
+
+    private final AtomicLong blocked = new AtomicLong();
+
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private final Timer headOfLineWait;
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    private volatile boolean disposed;
+
+    public OrderedConcurrentMap(String name, Scheduler timer) {
+        this.name = name;
+        this.timer = timer;
+        this.registry = ServiceMetrics.registry();
+
+        this.meters = List.of(
+                Gauge.builder(METER_NAME + ".buffered", buffered, AtomicInteger::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".blocked", blocked, AtomicLong::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".timeouts", timeouts, AtomicLong::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry)
+        );
+        this.headOfLineWait = Timer.builder(METER_NAME + ".headOfLineWait")
+                .tag(NAME_TAG, name)
+                .register(registry);
+    }
+
+    public OrderedConcurrentMap(String name) {
+        this(name, Schedulers.parallel());
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        meters.forEach(registry::remove);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    public <T, R> Function<Flux<T>, Flux<R>> transform(Function<? super T, ? extends Mono<? extends R>> mapper, OrderedMapConfig config) {
+        if (config.getConcurrency() < 1 || config.getMaxBuffered() < 1) {
+            throw new IllegalArgumentException("concurrency and maxBuffered must be positive");
+        }
+
+        return flux -> Flux.defer(() -> {
+            ReorderWindow<R> window = new ReorderWindow<>(config.getMaxBuffered());
+
+            return flux.index()
+                    .concatMap(indexed -> window.admit(indexed.getT1()).thenReturn(indexed), 1)
+                    .flatMap(indexed -> mapElement(indexed, mapper, config), config.getConcurrency(), 1)
+                    .flatMapIterable(window::complete, 1)
+                    .doFinally(signalType -> window.clear());
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int bufferedCount() {
+        return buffered.get();
+    }
+
+    public int peakBufferedCount() {
+        return peakBuffered.get();
+    }
+
+    public long blockedCount() {
+        return blocked.get();
+    }
+
+    public long timeoutCount() {
+        return timeouts.get();
+    }
+
+    private <T, R> Mono<Tuple2<Long, Optional<R>>> mapElement(Tuple2<Long, T> indexed, Function<? super T, ? extends Mono<? extends R>> mapper, OrderedMapConfig config) {
+        Mono<Optional<R>> result = Mono.defer(() -> mapper.apply(indexed.getT2()))
+                .<Optional<R>>map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+
+        if (config.getElementTimeout() != null) {
+            result = result.timeout(config.getElementTimeout(), timer)
+                    .doOnError(TimeoutException.class, ex -> timeouts.incrementAndGet());
+
+            if (config.isSkipOnTimeout()) {
+                result = result.onErrorReturn(TimeoutException.class, Optional.empty());
+            }
+        }
+
+        return result.map(value -> Tuples.of(indexed.getT1(), value));
+    }
+
+    private class ReorderWindow<R> {
+
+        private final int maxBuffered;
+
+        private final Map<Long, Completed<R>> pending = new HashMap<>();
+
+        private long next;
+
+        private long waitingIndex = -1;
+
+        private Sinks.Empty<Void> waiting;
+
+        ReorderWindow(int maxBuffered) {
+            this.maxBuffered = maxBuffered;
+        }
+
+        synchronized Mono<Void> admit(long index) {
+            if (index < next + maxBuffered) {
+                return Mono.empty();
+            }
+
+            blocked.incrementAndGet();
+
+            waitingIndex = index;
+            waiting = Sinks.empty();
+
+            return waiting.asMono();
+        }
+
+        List<R> complete(Tuple2<Long, Optional<R>> completed) {
+            List<R> released;
+            Sinks.Empty<Void> admitted = null;
+
+            synchronized (this) {
+                if (completed.getT1() != next) {
+                    pending.put(completed.getT1(), new Completed<>(completed.getT2(), System.nanoTime()));
+                    peakBuffered.accumulateAndGet(buffered.incrementAndGet(), Math::max);
+
+                    return Collections.emptyList();
+                }
+
+                released = new ArrayList<>();
+                completed.getT2().ifPresent(released::add);
+                ++next;
+
+                Completed<R> head;
+                while ((head = pending.remove(next)) != null) {
+                    buffered.decrementAndGet();
+                    headOfLineWait.record(System.nanoTime() - head.completedAtNanos, TimeUnit.NANOSECONDS);
+                    head.value.ifPresent(released::add);
+                    ++next;
+                }
+
+                if (waiting != null && waitingIndex < next + maxBuffered) {
+                    admitted = waiting;
+                    waiting = null;
+                }
+            }
+
+            if (admitted != null) {
+                admitted.tryEmitEmpty();
+            }
+
+            return released;
+        }
+
+        synchronized void clear() {
+            buffered.addAndGet(-pending.size());
+            pending.clear();
+            waiting = null;
+        }
+    }
+
+    private static class Completed<R> {
+
+        private final Optional<R> value;
+
+        private final long completedAtNanos;
+
+        Completed(Optional<R> value, long completedAtNanos) {
+            this.value = value;
+            this.completedAtNanos = completedAtNanos;
+        }
+    }
+}
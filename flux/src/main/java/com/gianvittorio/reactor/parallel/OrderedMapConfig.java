@@ -0,0 +1,27 @@
+package com.gianvittorio.reactor.parallel;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class OrderedMapConfig {
+
+    @Builder.Default
+    int concurrency = Queues.XS_BUFFER_SIZE;
+
+    @Builder.Default
+    int maxBuffered = Queues.SMALL_BUFFER_SIZE;
+
+    Duration elementTimeout;
+
+    @Builder.Default
+    boolean skipOnTimeout = false;
+
+    public static OrderedMapConfig defaults() {
+        return OrderedMapConfig.builder().build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.gianvittorio.reactor.parallel;
+
+public enum ParallelStrategy {
+
+    AUTO,
+    PARALLEL,
+    FLAT_MAP
+}
@@ -0,0 +1,35 @@
+package com.gianvittorio.reactor.parallel;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class ParallelTransformConfig {
+
+    @Builder.Default
+    int rails = Schedulers.DEFAULT_POOL_SIZE;
+
+    @Builder.Default
+    int prefetch = Queues.SMALL_BUFFER_SIZE;
+
+    @Builder.Default
+    int batchSize = 1;
+
+    @Builder.Default
+    boolean ordered = false;
+
+    @Builder.Default
+    ParallelStrategy strategy = ParallelStrategy.AUTO;
+
+    @Builder.Default
+    Duration flatMapCostThreshold = Duration.ofMillis(1);
+
+    public static ParallelTransformConfig defaults() {
+        return ParallelTransformConfig.builder().build();
+    }
+}
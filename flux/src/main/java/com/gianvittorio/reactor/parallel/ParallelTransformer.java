@@ -0,0 +1,106 @@
+package com.gianvittorio.reactor.parallel;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+public class ParallelTransformer<T, R> implements Function<Flux<T>, Flux<R>> {
+
+    private static final double COST_SMOOTHING = .2;
+
+    private final Function<T, R> mapper;
+
+    private final ParallelTransformConfig config;
+
+    private final Scheduler scheduler;
+
+    private double elementCostNanos = -1;
+
+    public ParallelTransformer(Function<T, R> mapper, ParallelTransformConfig config, Scheduler scheduler) {
+        if (config.getRails() < 1 || config.getPrefetch() < 1 || config.getBatchSize() < 1) {
+            throw new IllegalArgumentException("rails, prefetch and batchSize must be positive");
+        }
+
+        this.mapper = mapper;
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<R> apply(Flux<T> source) {
+        return Flux.defer(() -> {
+            Flux<Tuple2<Long, List<T>>> batches = source.buffer(config.getBatchSize())
+                    .index();
+
+            Flux<Tuple2<Long, List<R>>> transformed = resolveStrategy() == ParallelStrategy.FLAT_MAP
+                    ? viaFlatMap(batches)
+                    : viaParallel(batches);
+
+            return transformed.flatMapIterable(Tuple2::getT2);
+        });
+    }
+
+    public ParallelStrategy resolveStrategy() {
+        if (config.getStrategy() != ParallelStrategy.AUTO) {
+            return config.getStrategy();
+        }
+
+        return elementCostNanos() >= config.getFlatMapCostThreshold().toNanos()
+                ? ParallelStrategy.FLAT_MAP
+                : ParallelStrategy.PARALLEL;
+    }
+
+    public synchronized double elementCostNanos() {
+        return elementCostNanos;
+    }
+
+    private Flux<Tuple2<Long, List<R>>> viaParallel(Flux<Tuple2<Long, List<T>>> batches) {
+        ParallelFlux<Tuple2<Long, List<R>>> rails = batches.parallel(config.getRails(), config.getPrefetch())
+                .runOn(scheduler, config.getPrefetch())
+                .map(this::transformBatch);
+
+        if (config.isOrdered()) {
+            return rails.ordered(Comparator.comparing(Tuple2::getT1), config.getPrefetch());
+        }
+
+        return rails.sequential(config.getPrefetch());
+    }
+
+    private Flux<Tuple2<Long, List<R>>> viaFlatMap(Flux<Tuple2<Long, List<T>>> batches) {
+        Function<Tuple2<Long, List<T>>, Mono<Tuple2<Long, List<R>>>> offloaded = batch -> Mono.fromCallable(() -> transformBatch(batch))
+                .subscribeOn(scheduler);
+
+        if (config.isOrdered()) {
+            return batches.flatMapSequential(offloaded, config.getRails(), config.getPrefetch());
+        }
+
+        return batches.flatMap(offloaded, config.getRails(), config.getPrefetch());
+    }
+
+    private Tuple2<Long, List<R>> transformBatch(Tuple2<Long, List<T>> batch) {
+        long startNanos = System.nanoTime();
+        List<R> results = new ArrayList<>(batch.getT2().size());
+
+        for (T element : batch.getT2()) {
+            results.add(mapper.apply(element));
+        }
+
+        recordCost((System.nanoTime() - startNanos) / (double) Math.max(1, results.size()));
+
+        return Tuples.of(batch.getT1(), results);
+    }
+
+    private synchronized void recordCost(double costNanos) {
+        elementCostNanos = elementCostNanos < 0
+                ? costNanos
+                : elementCostNanos + COST_SMOOTHING * (costNanos - elementCostNanos);
+    }
+}
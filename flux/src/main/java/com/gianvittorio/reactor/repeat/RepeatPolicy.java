@@ -0,0 +1,63 @@
+package com.gianvittorio.reactor.repeat;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Value
+@Builder(toBuilder = true)
+public class RepeatPolicy {
+
+    @Builder.Default
+    long maxRepeats = Long.MAX_VALUE;
+
+    @Builder.Default
+    Duration interval = Duration.ofSeconds(1);
+
+    @Builder.Default
+    boolean adaptive = true;
+
+    @Builder.Default
+    Duration maxInterval = Duration.ofMinutes(1);
+
+    @Builder.Default
+    double backoffMultiplier = 2.;
+
+    @Builder.Default
+    Duration startJitter = Duration.ZERO;
+
+    @Builder.Default
+    boolean pauseOnBackpressure = true;
+
+    public static RepeatPolicy defaults() {
+        return RepeatPolicy.builder().build();
+    }
+
+    public static RepeatPolicy immediate() {
+        return RepeatPolicy.builder()
+                .interval(Duration.ZERO)
+                .adaptive(false)
+                .pauseOnBackpressure(false)
+                .build();
+    }
+
+    public Duration nextInterval(Duration previous, boolean changed) {
+        if (!adaptive || changed || previous == null) {
+            return interval;
+        }
+
+        long grownMillis = (long) (Math.max(previous.toMillis(), 1) * backoffMultiplier);
+
+        return Duration.ofMillis(Math.min(grownMillis, maxInterval.toMillis()));
+    }
+
+    public Duration startDelay() {
+        if (startJitter.isZero() || startJitter.isNegative()) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(startJitter.toMillis() + 1));
+    }
+}
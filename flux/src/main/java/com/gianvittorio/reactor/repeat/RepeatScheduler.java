@@ -0,0 +1,178 @@
+package com.gianvittorio.reactor.repeat;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+@Slf4j
+public class RepeatScheduler {
+
+    private static final String METER_NAME = "movies.repeat";
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+
+    private final RepeatPolicy policy;
+
+    private final Scheduler timer;
+
+    private final Counter changedPasses;
+
+    private final Counter unchangedPasses;
+
+    private final Counter paused;
+
+    public RepeatScheduler(String name, RepeatPolicy policy, Scheduler timer) {
+        if (policy.getMaxRepeats() < 0 || policy.getBackoffMultiplier() < 1 || policy.getInterval().isNegative()) {
+            throw new IllegalArgumentException("maxRepeats and interval must be non-negative and backoffMultiplier at least 1");
+        }
+
+        this.name = name;
+        this.policy = policy;
+        this.timer = timer;
+
+        MeterRegistry registry = ServiceMetrics.registry();
+        this.changedPasses = Counter.builder(METER_NAME + ".passes")
+                .tag(NAME_TAG, name)
+                .tag("changed", "true")
+                .register(registry);
+        this.unchangedPasses = Counter.builder(METER_NAME + ".passes")
+                .tag(NAME_TAG, name)
+                .tag("changed", "false")
+                .register(registry);
+        this.paused = Counter.builder(METER_NAME + ".paused")
+                .tag(NAME_TAG, name)
+                .register(registry);
+    }
+
+    public RepeatScheduler(String name, RepeatPolicy policy) {
+        this(name, policy, Schedulers.parallel());
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transform() {
+        return flux -> Flux.defer(() -> {
+            RepeatState state = new RepeatState();
+
+            Flux<T> pass = flux.doOnSubscribe(subscription -> state.startPass())
+                    .doOnNext(state::observe);
+
+            // take(0) would complete the companion before the first pass even starts
+            Flux<T> repeated = (policy.getMaxRepeats() == 0 ? pass : pass.repeatWhen(completions -> completions.take(policy.getMaxRepeats())
+                    .concatMap(completion -> nextPass(completion, state))))
+                    .doOnNext(element -> state.produced())
+                    .doOnRequest(state::requested);
+
+            Duration startDelay = policy.startDelay();
+
+            return startDelay.isZero() ? repeated : repeated.delaySubscription(startDelay, timer);
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RepeatPolicy getPolicy() {
+        return policy;
+    }
+
+    private Mono<Long> nextPass(Long completion, RepeatState state) {
+        Duration interval = state.endPass();
+        Mono<Long> next = interval.isZero()
+                ? Mono.just(completion)
+                : Mono.just(completion).delayElement(interval, timer);
+
+        if (!policy.isPauseOnBackpressure()) {
+            return next;
+        }
+
+        return next.delayUntil(tick -> state.awaitDemand());
+    }
+
+    private class RepeatState {
+
+        private long fingerprint;
+
+        private long count;
+
+        private Long lastFingerprint;
+
+        private long lastCount;
+
+        private Duration interval;
+
+        private long outstanding;
+
+        private Sinks.Empty<Void> demandSignal;
+
+        synchronized void startPass() {
+            fingerprint = 0;
+            count = 0;
+        }
+
+        synchronized void observe(Object element) {
+            fingerprint += 31 * Objects.hashCode(element) + 1;
+            ++count;
+        }
+
+        synchronized Duration endPass() {
+            boolean changed = lastFingerprint == null || lastFingerprint != fingerprint || lastCount != count;
+
+            (changed ? changedPasses : unchangedPasses).increment();
+
+            lastFingerprint = fingerprint;
+            lastCount = count;
+            interval = policy.nextInterval(interval, changed);
+
+            log.debug("Repeat '{}' pass ended, changed: {}, next pass in: {}", name, changed, interval);
+
+            return interval;
+        }
+
+        Mono<Void> awaitDemand() {
+            synchronized (this) {
+                if (outstanding > 0) {
+                    return Mono.empty();
+                }
+
+                paused.increment();
+
+                demandSignal = Sinks.empty();
+
+                return demandSignal.asMono();
+            }
+        }
+
+        void requested(long n) {
+            Sinks.Empty<Void> signal;
+
+            synchronized (this) {
+                outstanding = Operators.addCap(outstanding, n);
+                signal = demandSignal;
+                demandSignal = null;
+            }
+
+            if (signal != null) {
+                signal.tryEmitEmpty();
+            }
+        }
+
+        synchronized void produced() {
+            if (outstanding != Long.MAX_VALUE) {
+                --outstanding;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.exception.BulkheadFullException;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Slf4j
+public class Bulkhead implements Disposable {
+
+    private static final String METER_NAME = "movies.bulkhead";
+
+    private static final String NAME_TAG = "name";
+
+    private static final Bulkhead UNLIMITED = new Bulkhead("unlimited", Integer.MAX_VALUE, false);
+
+    private final String name;
+
+    private final int maxConcurrentCalls;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    private volatile boolean disposed;
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this(name, maxConcurrentCalls, true);
+    }
+
+    private Bulkhead(String name, int maxConcurrentCalls, boolean monitored) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.registry = ServiceMetrics.registry();
+        this.meters = monitored ? bindMetrics(registry) : List.of();
+    }
+
+    public static Bulkhead unlimited() {
+        return UNLIMITED;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transformFlux() {
+        if (this == UNLIMITED) {
+            return Function.identity();
+        }
+
+        return flux -> Flux.defer(() -> {
+            if (!tryAcquire()) {
+                return Flux.error(bulkheadFull());
+            }
+
+            return flux.doFinally(signalType -> inFlight.decrementAndGet());
+        });
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> transformMono() {
+        if (this == UNLIMITED) {
+            return Function.identity();
+        }
+
+        return mono -> Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(bulkheadFull());
+            }
+
+            return mono.doFinally(signalType -> inFlight.decrementAndGet());
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        meters.forEach(registry::remove);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= maxConcurrentCalls) {
+                rejected.incrementAndGet();
+
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private BulkheadFullException bulkheadFull() {
+        log.warn("Bulkhead '{}' is full, rejecting call", name);
+
+        return new BulkheadFullException("Bulkhead '" + name + "' is full, max concurrent calls: " + maxConcurrentCalls);
+    }
+
+    private List<Meter> bindMetrics(MeterRegistry registry) {
+        return List.of(
+                Gauge.builder(METER_NAME + ".inFlight", inFlight, AtomicInteger::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".rejected", rejected, AtomicLong::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry)
+        );
+    }
+}
@@ -0,0 +1,265 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.exception.CallNotPermittedException;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Slf4j
+public class CircuitBreaker implements Disposable {
+
+    private static final String METER_NAME = "movies.circuitbreaker";
+
+    private static final String NAME_TAG = "name";
+
+    private static final long NOT_PERMITTED = -1;
+
+    private static final CircuitBreaker DISABLED = new CircuitBreaker("disabled", CircuitBreakerConfig.defaults(), System::nanoTime, false);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+
+    private final CircuitBreakerConfig config;
+
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+
+    private final AtomicLong notPermitted = new AtomicLong();
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    private volatile boolean disposed;
+
+    private State state = State.CLOSED;
+
+    private long epoch;
+
+    private int recorded;
+
+    private int failures;
+
+    private int next;
+
+    private int halfOpenPermitted;
+
+    private long openedAtNanos;
+
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this(name, config, System::nanoTime, true);
+    }
+
+    public CircuitBreaker(String name) {
+        this(name, CircuitBreakerConfig.defaults());
+    }
+
+    CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this(name, config, nanoClock, true);
+    }
+
+    private CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier nanoClock, boolean monitored) {
+        if (config.getSlidingWindowSize() < 1 || config.getPermittedCallsInHalfOpenState() < 1) {
+            throw new IllegalArgumentException("slidingWindowSize and permittedCallsInHalfOpenState must be positive");
+        }
+
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[Math.max(config.getSlidingWindowSize(), config.getPermittedCallsInHalfOpenState())];
+        this.registry = ServiceMetrics.registry();
+        this.meters = monitored ? bindMetrics(registry) : List.of();
+    }
+
+    public static CircuitBreaker disabled() {
+        return DISABLED;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transformFlux() {
+        if (this == DISABLED) {
+            return Function.identity();
+        }
+
+        return flux -> Flux.defer(() -> {
+            long permit = tryAcquirePermission();
+
+            if (permit == NOT_PERMITTED) {
+                return Flux.error(callNotPermitted());
+            }
+
+            AtomicBoolean done = new AtomicBoolean();
+
+            return flux
+                    .doOnComplete(() -> onResult(permit, done, true))
+                    .doOnError(ex -> onResult(permit, done, false))
+                    .doOnCancel(() -> onCancel(permit, done));
+        });
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> transformMono() {
+        if (this == DISABLED) {
+            return Function.identity();
+        }
+
+        return mono -> Mono.defer(() -> {
+            long permit = tryAcquirePermission();
+
+            if (permit == NOT_PERMITTED) {
+                return Mono.error(callNotPermitted());
+            }
+
+            AtomicBoolean done = new AtomicBoolean();
+
+            return mono
+                    .doOnSuccess(value -> onResult(permit, done, true))
+                    .doOnError(ex -> onResult(permit, done, false))
+                    .doOnCancel(() -> onCancel(permit, done));
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0. : failures * 100. / recorded;
+    }
+
+    public long notPermittedCount() {
+        return notPermitted.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        meters.forEach(registry::remove);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < config.getWaitDurationInOpenState().toNanos()) {
+                notPermitted.incrementAndGet();
+
+                return NOT_PERMITTED;
+            }
+
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= config.getPermittedCallsInHalfOpenState()) {
+                notPermitted.incrementAndGet();
+
+                return NOT_PERMITTED;
+            }
+
+            ++halfOpenPermitted;
+        }
+
+        return epoch;
+    }
+
+    private void onResult(long permit, AtomicBoolean done, boolean success) {
+        if (done.compareAndSet(false, true)) {
+            record(permit, success);
+        }
+    }
+
+    private void onCancel(long permit, AtomicBoolean done) {
+        if (done.compareAndSet(false, true)) {
+            release(permit);
+        }
+    }
+
+    private synchronized void record(long permit, boolean success) {
+        if (permit != epoch) {
+            return;
+        }
+
+        int size = state == State.HALF_OPEN ? config.getPermittedCallsInHalfOpenState() : config.getSlidingWindowSize();
+
+        if (recorded == size) {
+            if (!window[next]) {
+                --failures;
+            }
+        } else {
+            ++recorded;
+        }
+
+        window[next] = success;
+        next = (next + 1) % size;
+
+        if (!success) {
+            ++failures;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (recorded == size) {
+                transitionTo(failureRate() >= config.getFailureRateThreshold() ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= config.getMinimumNumberOfCalls() && failureRate() >= config.getFailureRateThreshold()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void release(long permit) {
+        if (permit == epoch && state == State.HALF_OPEN) {
+            --halfOpenPermitted;
+        }
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Circuit breaker '{}' transitions from {} to {}", name, state, newState);
+
+        state = newState;
+        ++epoch;
+        recorded = 0;
+        failures = 0;
+        next = 0;
+        halfOpenPermitted = 0;
+
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    private CallNotPermittedException callNotPermitted() {
+        return new CallNotPermittedException("Circuit breaker '" + name + "' is " + getState() + ", call not permitted");
+    }
+
+    private List<Meter> bindMetrics(MeterRegistry registry) {
+        return List.of(
+                Gauge.builder(METER_NAME + ".state", this, circuitBreaker -> circuitBreaker.getState().ordinal())
+                        .tag(NAME_TAG, name)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".notPermitted", notPermitted, AtomicLong::get)
+                        .tag(NAME_TAG, name)
+                        .register(registry)
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.gianvittorio.reactor.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class CircuitBreakerConfig {
+
+    @Builder.Default
+    int slidingWindowSize = 20;
+
+    @Builder.Default
+    int minimumNumberOfCalls = 10;
+
+    @Builder.Default
+    double failureRateThreshold = 50.;
+
+    @Builder.Default
+    Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+    @Builder.Default
+    int permittedCallsInHalfOpenState = 3;
+
+    public static CircuitBreakerConfig defaults() {
+        return CircuitBreakerConfig.builder().build();
+    }
+}
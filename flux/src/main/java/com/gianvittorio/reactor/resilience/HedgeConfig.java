@@ -0,0 +1,33 @@
+package com.gianvittorio.reactor.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class HedgeConfig {
+
+    @Builder.Default
+    Duration delay = Duration.ofMillis(50);
+
+    @Builder.Default
+    double delayPercentile = 0.;
+
+    @Builder.Default
+    Duration minDelay = Duration.ofMillis(5);
+
+    @Builder.Default
+    int latencyWindowSize = 256;
+
+    @Builder.Default
+    double maxHedgeRatio = .1;
+
+    @Builder.Default
+    int maxHedgeBurst = 10;
+
+    public static HedgeConfig defaults() {
+        return HedgeConfig.builder().build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class Hedger {
+
+    private static final String METER_NAME = "movies.hedge";
+
+    private static final String NAME_TAG = "name";
+
+    private static final String OUTCOME_TAG = "outcome";
+
+    private static final int PERCENTILE_REFRESH_INTERVAL = 32;
+
+    private static final Hedger DISABLED = new Hedger("disabled", HedgeConfig.defaults(), SchedulerRegistry.global().timer(), false);
+
+    private final String name;
+
+    private final HedgeConfig config;
+
+    private final Scheduler timer;
+
+    private final long[] latencies;
+
+    private final Counter hedged;
+
+    private final Counter denied;
+
+    private final Counter hedgeWon;
+
+    private int recorded;
+
+    private int next;
+
+    private int sinceRefresh;
+
+    private long observedDelayNanos;
+
+    private double credit;
+
+    public Hedger(String name, HedgeConfig config, Scheduler timer) {
+        this(name, config, timer, true);
+    }
+
+    public Hedger(String name, HedgeConfig config) {
+        this(name, config, SchedulerRegistry.global().timer());
+    }
+
+    public Hedger(String name) {
+        this(name, HedgeConfig.defaults());
+    }
+
+    private Hedger(String name, HedgeConfig config, Scheduler timer, boolean monitored) {
+        if (config.getLatencyWindowSize() < 1 || config.getMaxHedgeRatio() < 0 || config.getMaxHedgeBurst() < 1) {
+            throw new IllegalArgumentException("latencyWindowSize and maxHedgeBurst must be positive and maxHedgeRatio non-negative");
+        }
+
+        this.name = name;
+        this.config = config;
+        this.timer = timer;
+        this.latencies = new long[config.getLatencyWindowSize()];
+        this.credit = config.getMaxHedgeBurst();
+
+        MeterRegistry registry = ServiceMetrics.registry();
+        this.hedged = monitored ? counter(registry, "hedged") : null;
+        this.denied = monitored ? counter(registry, "denied") : null;
+        this.hedgeWon = monitored ? counter(registry, "hedgeWon") : null;
+    }
+
+    public static Hedger disabled() {
+        return DISABLED;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transformFlux() {
+        if (this == DISABLED) {
+            return Function.identity();
+        }
+
+        return flux -> Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            AtomicBoolean hedgeFirst = new AtomicBoolean();
+
+            Flux<T> hedge = Mono.delay(hedgeDelay(), timer)
+                    .flatMapMany(tick -> {
+                        if (!tryAcquireHedge()) {
+                            return Flux.never();
+                        }
+
+                        return flux.doOnEach(signal -> hedgeFirst.compareAndSet(false, true));
+                    });
+
+            return Flux.firstWithSignal(flux, hedge)
+                    .doOnEach(firstSignal(startNanos, hedgeFirst));
+        });
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> transformMono() {
+        if (this == DISABLED) {
+            return Function.identity();
+        }
+
+        return mono -> Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            AtomicBoolean hedgeFirst = new AtomicBoolean();
+
+            Mono<T> hedge = Mono.delay(hedgeDelay(), timer)
+                    .flatMap(tick -> {
+                        if (!tryAcquireHedge()) {
+                            return Mono.never();
+                        }
+
+                        return mono.doOnEach(signal -> hedgeFirst.compareAndSet(false, true));
+                    });
+
+            return Mono.firstWithSignal(mono, hedge)
+                    .doOnEach(firstSignal(startNanos, hedgeFirst));
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized Duration hedgeDelay() {
+        if (config.getDelayPercentile() <= 0 || observedDelayNanos == 0) {
+            return config.getDelay();
+        }
+
+        return Duration.ofNanos(Math.max(observedDelayNanos, config.getMinDelay().toNanos()));
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (credit < 1) {
+            denied.increment();
+
+            return false;
+        }
+
+        --credit;
+        hedged.increment();
+
+        return true;
+    }
+
+    private <S> Consumer<S> firstSignal(long startNanos, AtomicBoolean hedgeFirst) {
+        AtomicBoolean seen = new AtomicBoolean();
+
+        return signal -> {
+            if (seen.compareAndSet(false, true)) {
+                if (hedgeFirst.get()) {
+                    hedgeWon.increment();
+                }
+
+                record(System.nanoTime() - startNanos);
+            }
+        };
+    }
+
+    private synchronized void record(long latencyNanos) {
+        credit = Math.min(config.getMaxHedgeBurst(), credit + config.getMaxHedgeRatio());
+
+        latencies[next] = latencyNanos;
+        next = (next + 1) % latencies.length;
+        recorded = Math.min(recorded + 1, latencies.length);
+
+        if (config.getDelayPercentile() > 0 && ++sinceRefresh >= PERCENTILE_REFRESH_INTERVAL) {
+            sinceRefresh = 0;
+
+            long[] window = Arrays.copyOf(latencies, recorded);
+            Arrays.sort(window);
+
+            int index = (int) Math.ceil(config.getDelayPercentile() * recorded) - 1;
+            observedDelayNanos = window[Math.max(0, Math.min(index, recorded - 1))];
+        }
+    }
+
+    private Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder(METER_NAME + ".calls")
+                .tag(NAME_TAG, name)
+                .tag(OUTCOME_TAG, outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.deadline.Deadlines;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Function;
+
+// Every remote call is decorated in the same order, innermost first:
+// hedger -> circuit breaker -> bulkhead -> deadline -> metrics.
+// A hedged call counts as one breaker outcome and holds one bulkhead slot (the hedge budget bounds the extra load),
+// bulkhead rejections are local saturation and never trip the breaker, the deadline bounds the whole call
+// and the metrics see what the caller sees.
+public class RemoteCallPolicy {
+
+    private static final RemoteCallPolicy NONE = new RemoteCallPolicy(CircuitBreaker.disabled(), Bulkhead.unlimited(), Hedger.disabled());
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final Hedger hedger;
+
+    private final Scheduler timer;
+
+    public RemoteCallPolicy(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Hedger hedger, Scheduler timer) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.hedger = hedger;
+        this.timer = timer;
+    }
+
+    public RemoteCallPolicy(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Hedger hedger) {
+        this(circuitBreaker, bulkhead, hedger, SchedulerRegistry.global().timer());
+    }
+
+    public static RemoteCallPolicy none() {
+        return NONE;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> transformFlux(String serviceName, String methodName) {
+        return flux -> flux
+                .transform(hedger.transformFlux())
+                .transform(circuitBreaker.transformFlux())
+                .transform(bulkhead.transformFlux())
+                .transform(Deadlines.enforceFlux(timer))
+                .transform(ServiceMetrics.instrumentFlux(serviceName, methodName));
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> transformMono(String serviceName, String methodName) {
+        return mono -> mono
+                .transform(hedger.transformMono())
+                .transform(circuitBreaker.transformMono())
+                .transform(bulkhead.transformMono())
+                .transform(Deadlines.enforceMono(timer))
+                .transform(ServiceMetrics.instrumentMono(serviceName, methodName));
+    }
+}
@@ -0,0 +1,55 @@
+package com.gianvittorio.reactor.retry;
+
+public class RetryBudget {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double maxTokens;
+
+    private final double refillTokensPerSecond;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    public RetryBudget(int maxTokens, double refillTokensPerSecond) {
+        if (maxTokens < 1 || refillTokensPerSecond < 0) {
+            throw new IllegalArgumentException("maxTokens must be positive and refillTokensPerSecond non-negative");
+        }
+
+        this.maxTokens = maxTokens;
+        this.refillTokensPerSecond = refillTokensPerSecond;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public static RetryBudget defaults() {
+        return new RetryBudget(100, 10);
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        --tokens;
+
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double refilled = (now - lastRefillNanos) * refillTokensPerSecond / NANOS_PER_SECOND;
+
+        tokens = Math.min(maxTokens, tokens + refilled);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,99 @@
+package com.gianvittorio.reactor.retry;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+public class RetryPolicies {
+
+    public static final String METER_NAME = "movies.retry";
+
+    private static final RetryPolicies NONE = new RetryPolicies(Collections.emptyMap());
+
+    private final Map<Class<? extends Throwable>, RetryPolicy> policies;
+
+    private RetryPolicies(Map<Class<? extends Throwable>, RetryPolicy> policies) {
+        this.policies = policies;
+    }
+
+    public static RetryPolicies none() {
+        return NONE;
+    }
+
+    public RetryPolicies with(Class<? extends Throwable> exceptionType, RetryPolicy policy) {
+        Map<Class<? extends Throwable>, RetryPolicy> copy = new LinkedHashMap<>(policies);
+        copy.put(exceptionType, policy);
+
+        return new RetryPolicies(Collections.unmodifiableMap(copy));
+    }
+
+    public boolean isEmpty() {
+        return policies.isEmpty();
+    }
+
+    public Retry toRetry(String pipeline, RetryBudget retryBudget, Scheduler timer) {
+        return Retry.from(retrySignals -> retrySignals.concatMap(retrySignal -> {
+            Throwable failure = retrySignal.failure();
+            RetryPolicy policy = policyFor(failure);
+
+            if (policy == null) {
+                count(pipeline, failure, "notRetryable");
+
+                return Mono.error(failure);
+            }
+
+            // totalRetriesInARow() resets whenever an element gets through, which would let a stream that
+            // emits and then fails retry forever, so the cap applies to the subscription as a whole
+            if (retrySignal.totalRetries() >= policy.getMaxRetries()) {
+                count(pipeline, failure, "exhausted");
+
+                return Mono.error(failure);
+            }
+
+            if (!retryBudget.tryAcquire()) {
+                log.warn("Retry budget exhausted for pipeline: {}", pipeline);
+                count(pipeline, failure, "budgetExhausted");
+
+                return Mono.error(failure);
+            }
+
+            count(pipeline, failure, "retried");
+
+            long retries = retrySignal.totalRetries();
+
+            return Mono.just(retries)
+                    .delayElement(policy.backoff(retries), timer);
+        }));
+    }
+
+    public Retry toRetry(String pipeline, RetryBudget retryBudget) {
+        return toRetry(pipeline, retryBudget, SchedulerRegistry.global().timer());
+    }
+
+    private RetryPolicy policyFor(Throwable failure) {
+        return policies.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().isInstance(failure))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void count(String pipeline, Throwable failure, String outcome) {
+        Counter.builder(METER_NAME)
+                .tag("pipeline", pipeline)
+                .tag("exception", failure.getClass().getSimpleName())
+                .tag("outcome", outcome)
+                .register(ServiceMetrics.registry())
+                .increment();
+    }
+}
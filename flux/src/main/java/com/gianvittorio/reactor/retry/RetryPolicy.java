@@ -0,0 +1,37 @@
+package com.gianvittorio.reactor.retry;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Value
+@Builder
+public class RetryPolicy {
+
+    @Builder.Default
+    long maxRetries = 3;
+
+    @Builder.Default
+    Duration minBackoff = Duration.ofMillis(100);
+
+    @Builder.Default
+    Duration maxBackoff = Duration.ofSeconds(5);
+
+    public static RetryPolicy noRetry() {
+        return RetryPolicy.builder()
+                .maxRetries(0)
+                .build();
+    }
+
+    public Duration backoff(long retry) {
+        long ceiling = minBackoff.toMillis() << Math.min(retry, 30);
+
+        if (ceiling <= 0 || ceiling > maxBackoff.toMillis()) {
+            ceiling = maxBackoff.toMillis();
+        }
+
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
@@ -0,0 +1,7 @@
+package com.gianvittorio.reactor.scheduler;
+
+public enum BlockingMode {
+
+    BOUNDED_ELASTIC,
+    VIRTUAL_THREADS
+}
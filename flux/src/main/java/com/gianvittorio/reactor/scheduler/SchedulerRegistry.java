@@ -0,0 +1,169 @@
+package com.gianvittorio.reactor.scheduler;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+@Slf4j
+public class SchedulerRegistry implements Disposable {
+
+    private static final String DECORATOR_KEY = "movies.scheduler";
+
+    private static final String WORKLOAD_TAG = "workload";
+
+    private static final SchedulerRegistry GLOBAL = new SchedulerRegistry(
+            SchedulerRegistryConfig.defaults(),
+            Map.of(
+                    Workload.CPU, Schedulers.parallel(),
+                    Workload.BLOCKING_IO, Schedulers.boundedElastic(),
+                    Workload.REVENUE, dedicatedRevenueScheduler(SchedulerRegistryConfig.defaults()),
+                    Workload.TIMER, Schedulers.parallel()
+            )
+    );
+
+    private final SchedulerRegistryConfig config;
+
+    private final Map<Workload, Scheduler> schedulers;
+
+    private final String decoratorKey;
+
+    public SchedulerRegistry(SchedulerRegistryConfig config) {
+        this.config = config;
+        this.decoratorKey = config.isMetricsEnabled()
+                ? DECORATOR_KEY + "." + config.getNamePrefix() + "@" + Integer.toHexString(System.identityHashCode(this))
+                : null;
+
+        if (decoratorKey != null) {
+            Schedulers.addExecutorServiceDecorator(decoratorKey, instrumenter(ServiceMetrics.registry()));
+        }
+
+        Map<Workload, Scheduler> schedulers = new EnumMap<>(Workload.class);
+        schedulers.put(Workload.CPU, Schedulers.newParallel(poolName(Workload.CPU), config.getCpuParallelism(), true));
+        schedulers.put(Workload.BLOCKING_IO, newBlockingScheduler(Workload.BLOCKING_IO, config.getBlockingThreadCap(), config.getBlockingQueuedTaskCap()));
+        schedulers.put(Workload.REVENUE, newBlockingScheduler(Workload.REVENUE, config.getRevenueThreadCap(), config.getRevenueQueuedTaskCap()));
+        schedulers.put(Workload.TIMER, Schedulers.newParallel(poolName(Workload.TIMER), config.getTimerParallelism(), true));
+
+        this.schedulers = Collections.unmodifiableMap(schedulers);
+    }
+
+    public SchedulerRegistry() {
+        this(SchedulerRegistryConfig.defaults());
+    }
+
+    private SchedulerRegistry(SchedulerRegistryConfig config, Map<Workload, Scheduler> schedulers) {
+        this.config = config;
+        this.schedulers = schedulers;
+        this.decoratorKey = null;
+    }
+
+    public static SchedulerRegistry global() {
+        return GLOBAL;
+    }
+
+    public Scheduler get(Workload workload) {
+        return schedulers.get(workload);
+    }
+
+    public Scheduler cpu() {
+        return get(Workload.CPU);
+    }
+
+    public Scheduler blockingIo() {
+        return get(Workload.BLOCKING_IO);
+    }
+
+    public Scheduler revenue() {
+        return get(Workload.REVENUE);
+    }
+
+    public Scheduler timer() {
+        return get(Workload.TIMER);
+    }
+
+    public SchedulerRegistryConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void dispose() {
+        if (this == GLOBAL) {
+            return;
+        }
+
+        if (decoratorKey != null) {
+            Schedulers.removeExecutorServiceDecorator(decoratorKey);
+        }
+
+        schedulers.values()
+                .forEach(Scheduler::dispose);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return schedulers.values()
+                .stream()
+                .allMatch(Scheduler::isDisposed);
+    }
+
+    // Revenue calls block for about a second each, so even the shared registry keeps them off boundedElastic(),
+    // in a pool sized like the one ReactiveRevenueService admits work for
+    private static Scheduler dedicatedRevenueScheduler(SchedulerRegistryConfig config) {
+        return Schedulers.newBoundedElastic(
+                config.getRevenueThreadCap(),
+                config.getRevenueQueuedTaskCap(),
+                config.getNamePrefix() + "-" + Workload.REVENUE.getPoolName(),
+                config.getTtlSeconds(),
+                true
+        );
+    }
+
+    private Scheduler newBlockingScheduler(Workload workload, int threadCap, int queuedTaskCap) {
+        if (config.getBlockingMode() == BlockingMode.VIRTUAL_THREADS) {
+            if (VirtualThreadScheduler.isSupported()) {
+                return VirtualThreadScheduler.create(poolName(workload));
+            }
+
+            log.warn("Virtual threads are not supported on JDK {}, falling back to bounded elastic for: {}", Runtime.version(), poolName(workload));
+        }
+
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, poolName(workload), config.getTtlSeconds(), true);
+    }
+
+    private String poolName(Workload workload) {
+        return config.getNamePrefix() + "-" + workload.getPoolName();
+    }
+
+    private BiFunction<Scheduler, ScheduledExecutorService, ScheduledExecutorService> instrumenter(MeterRegistry registry) {
+        AtomicInteger executorIds = new AtomicInteger();
+
+        return (scheduler, executorService) -> {
+            String schedulerName = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.NAME, "");
+
+            for (Workload workload : Workload.values()) {
+                if (schedulerName.contains("\"" + poolName(workload) + "\"") || schedulerName.contains("(" + poolName(workload) + ")")) {
+                    return ExecutorServiceMetrics.monitor(
+                            registry,
+                            executorService,
+                            poolName(workload) + "-" + executorIds.incrementAndGet(),
+                            Tag.of(WORKLOAD_TAG, workload.getPoolName())
+                    );
+                }
+            }
+
+            return executorService;
+        };
+    }
+}
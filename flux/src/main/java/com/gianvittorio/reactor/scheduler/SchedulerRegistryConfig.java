@@ -0,0 +1,44 @@
+package com.gianvittorio.reactor.scheduler;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Schedulers;
+
+@Value
+@Builder
+public class SchedulerRegistryConfig {
+
+    @Builder.Default
+    String namePrefix = "movies";
+
+    @Builder.Default
+    int cpuParallelism = Schedulers.DEFAULT_POOL_SIZE;
+
+    @Builder.Default
+    BlockingMode blockingMode = BlockingMode.BOUNDED_ELASTIC;
+
+    @Builder.Default
+    int blockingThreadCap = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+
+    @Builder.Default
+    int blockingQueuedTaskCap = Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE;
+
+    @Builder.Default
+    int revenueThreadCap = 32;
+
+    @Builder.Default
+    int revenueQueuedTaskCap = 1_000;
+
+    @Builder.Default
+    int timerParallelism = 1;
+
+    @Builder.Default
+    int ttlSeconds = 60;
+
+    @Builder.Default
+    boolean metricsEnabled = true;
+
+    public static SchedulerRegistryConfig defaults() {
+        return SchedulerRegistryConfig.builder().build();
+    }
+}
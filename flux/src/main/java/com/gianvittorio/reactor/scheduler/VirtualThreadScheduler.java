@@ -0,0 +1,59 @@
+package com.gianvittorio.reactor.scheduler;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreadScheduler {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutorHandle();
+
+    private VirtualThreadScheduler() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    public static Scheduler create(String name) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or later, running on " + Runtime.version());
+        }
+
+        ExecutorService executor;
+
+        try {
+            executor = (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(name + "-", 0L);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not create virtual thread executor for: " + name, t);
+        }
+
+        return Schedulers.fromExecutorService(executor, name);
+    }
+
+    private static MethodHandle virtualThreadExecutorHandle() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            MethodHandle name = lookup.findVirtual(virtualBuilderClass, "name", MethodType.methodType(virtualBuilderClass, String.class, long.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            MethodHandle newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+
+            MethodHandle namedBuilder = MethodHandles.collectArguments(name, 0, ofVirtual);
+            MethodHandle threadFactory = MethodHandles.filterReturnValue(namedBuilder, factory.asType(MethodType.methodType(ThreadFactory.class, virtualBuilderClass)));
+
+            return MethodHandles.filterReturnValue(threadFactory, newThreadPerTaskExecutor);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gianvittorio.reactor.scheduler;
+
+public enum Workload {
+
+    CPU("cpu"),
+    BLOCKING_IO("io"),
+    REVENUE("revenue"),
+    TIMER("timer");
+
+    private final String poolName;
+
+    Workload(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+}
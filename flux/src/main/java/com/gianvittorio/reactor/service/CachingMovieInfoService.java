@@ -0,0 +1,84 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.cache.ReactiveCache;
+import com.gianvittorio.reactor.cache.ReactiveCacheConfig;
+import com.gianvittorio.reactor.domain.CatalogChange;
+import com.gianvittorio.reactor.domain.MovieInfo;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class CachingMovieInfoService extends MovieInfoService {
+
+    private final MovieInfoService delegate;
+
+    private final ReactiveCache<Long, MovieInfo> movieInfoCache;
+
+    private final ReactiveCache<Long, MovieInfo> movieInfoRestClientCache;
+
+    public CachingMovieInfoService(MovieInfoService delegate, ReactiveCacheConfig config) {
+        this.delegate = delegate;
+        this.movieInfoCache = new ReactiveCache<>(delegate::retrieveMovieInfoMonoUsingId, config);
+        this.movieInfoRestClientCache = new ReactiveCache<>(delegate::retrieveAllMovieInfoByIdRestClient, config);
+
+        movieInfoCache.monitor(ServiceMetrics.registry(), "movieInfo");
+        movieInfoRestClientCache.monitor(ServiceMetrics.registry(), "movieInfoRestClient");
+    }
+
+    public CachingMovieInfoService(MovieInfoService delegate) {
+        this(delegate, ReactiveCacheConfig.defaults());
+    }
+
+    @Override
+    public Flux<MovieInfo> retrieveAllMovieInfoRestClient() {
+        return delegate.retrieveAllMovieInfoRestClient();
+    }
+
+    @Override
+    public Mono<MovieInfo> retrieveAllMovieInfoByIdRestClient(long movieId) {
+        return movieInfoRestClientCache.get(movieId);
+    }
+
+    @Override
+    public Flux<MovieInfo> retrieveMoviesFlux() {
+        return delegate.retrieveMoviesFlux();
+    }
+
+    @Override
+    public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
+        return movieInfoCache.get(movieId);
+    }
+
+    @Override
+    public List<MovieInfo> movieList() {
+        return delegate.movieList();
+    }
+
+    @Override
+    public Flux<CatalogChange> retrieveMovieInfoChanges(long sinceVersion, int limit) {
+        return delegate.retrieveMovieInfoChanges(sinceVersion, limit)
+                .doOnNext(this::invalidate);
+    }
+
+    @Override
+    public Flux<CatalogChange> retrieveMovieInfoChangesRestClient(long sinceVersion, int limit) {
+        return delegate.retrieveMovieInfoChangesRestClient(sinceVersion, limit)
+                .doOnNext(this::invalidate);
+    }
+
+    public CacheStats movieInfoCacheStats() {
+        return movieInfoCache.stats();
+    }
+
+    public CacheStats movieInfoRestClientCacheStats() {
+        return movieInfoRestClientCache.stats();
+    }
+
+    private void invalidate(CatalogChange change) {
+        movieInfoCache.invalidate(change.getMovieInfoId());
+        movieInfoRestClientCache.invalidate(change.getMovieInfoId());
+    }
+}
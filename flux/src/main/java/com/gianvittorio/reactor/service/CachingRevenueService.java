@@ -0,0 +1,49 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.cache.ReactiveCacheConfig;
+import com.gianvittorio.reactor.domain.Revenue;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.scheduler.Scheduler;
+
+public class CachingRevenueService extends RevenueService {
+
+    private final LoadingCache<Long, Revenue> revenueCache;
+
+    public CachingRevenueService(RevenueService delegate, ReactiveCacheConfig config, SchedulerRegistry schedulers) {
+        Scheduler refresher = schedulers.blockingIo();
+
+        // The delegate blocks, so misses load synchronously on the calling thread (already a revenue worker when
+        // called through ReactiveRevenueService) and only background refreshes are handed to the blocking pool
+        this.revenueCache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .refreshAfterWrite(config.getRefreshAfterWrite())
+                .executor(refresher::schedule)
+                .recordStats()
+                .build(delegate::getRevenue);
+
+        CaffeineCacheMetrics.monitor(ServiceMetrics.registry(), revenueCache, "revenue");
+    }
+
+    public CachingRevenueService(RevenueService delegate, ReactiveCacheConfig config) {
+        this(delegate, config, SchedulerRegistry.global());
+    }
+
+    public CachingRevenueService(RevenueService delegate) {
+        this(delegate, ReactiveCacheConfig.defaults());
+    }
+
+    @Override
+    public Revenue getRevenue(long movieId) {
+        return revenueCache.get(movieId);
+    }
+
+    public CacheStats revenueCacheStats() {
+        return revenueCache.stats();
+    }
+}
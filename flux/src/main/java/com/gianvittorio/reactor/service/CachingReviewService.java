@@ -0,0 +1,86 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.cache.ReactiveCache;
+import com.gianvittorio.reactor.cache.ReactiveCacheConfig;
+import com.gianvittorio.reactor.domain.CatalogChange;
+import com.gianvittorio.reactor.domain.Review;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CachingReviewService extends ReviewService {
+
+    private final ReviewService delegate;
+
+    private final ReactiveCache<Long, List<Review>> reviewsCache;
+
+    private final ReactiveCache<Long, List<Review>> reviewsRestClientCache;
+
+    public CachingReviewService(ReviewService delegate, ReactiveCacheConfig config) {
+        this.delegate = delegate;
+        this.reviewsCache = new ReactiveCache<>(movieInfoId -> delegate.retrieveReviewsFlux(movieInfoId).collectList(), config);
+        this.reviewsRestClientCache = new ReactiveCache<>(movieInfoId -> delegate.retrieveReviewsFluxRestClient(movieInfoId).collectList(), config);
+
+        reviewsCache.monitor(ServiceMetrics.registry(), "reviews");
+        reviewsRestClientCache.monitor(ServiceMetrics.registry(), "reviewsRestClient");
+    }
+
+    public CachingReviewService(ReviewService delegate) {
+        this(delegate, ReactiveCacheConfig.defaults());
+    }
+
+    @Override
+    public List<Review> retrieveReviews(long movieInfoId) {
+        return delegate.retrieveReviews(movieInfoId);
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFlux(long movieInfoId) {
+        return reviewsCache.get(movieInfoId)
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxRestClient(long movieInfoId) {
+        return reviewsRestClientCache.get(movieInfoId)
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxBatch(List<Long> movieInfoIds) {
+        return delegate.retrieveReviewsFluxBatch(movieInfoIds);
+    }
+
+    @Override
+    public Flux<Review> retrieveReviewsFluxBatchRestClient(List<Long> movieInfoIds) {
+        return delegate.retrieveReviewsFluxBatchRestClient(movieInfoIds);
+    }
+
+    @Override
+    public Flux<CatalogChange> retrieveReviewChanges(long sinceVersion, int limit) {
+        return delegate.retrieveReviewChanges(sinceVersion, limit)
+                .doOnNext(this::invalidate);
+    }
+
+    @Override
+    public Flux<CatalogChange> retrieveReviewChangesRestClient(long sinceVersion, int limit) {
+        return delegate.retrieveReviewChangesRestClient(sinceVersion, limit)
+                .doOnNext(this::invalidate);
+    }
+
+    public CacheStats reviewsCacheStats() {
+        return reviewsCache.stats();
+    }
+
+    public CacheStats reviewsRestClientCacheStats() {
+        return reviewsRestClientCache.stats();
+    }
+
+    private void invalidate(CatalogChange change) {
+        reviewsCache.invalidate(change.getMovieInfoId());
+        reviewsRestClientCache.invalidate(change.getMovieInfoId());
+    }
+}
@@ -1,10 +1,14 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.parallel.OrderedConcurrentMap;
+import com.gianvittorio.reactor.parallel.OrderedMapConfig;
+import com.gianvittorio.reactor.parallel.ParallelTransformConfig;
+import com.gianvittorio.reactor.parallel.ParallelTransformer;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.ParallelFlux;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -17,13 +21,38 @@ public class FluxAndMonoSchedulerService {
 
     final static List<String> nameslist1 = List.of("adam", "jill", "jack");
 
+    private static final int ORDERED_MAP_MAX_BUFFERED = 2;
+
+    private final SchedulerRegistry schedulers;
+
+    private final ParallelTransformConfig parallelConfig;
+
+    private final ParallelTransformer<String, String> uppercaseTransformer;
+
+    private final OrderedConcurrentMap orderedMap;
+
+    public FluxAndMonoSchedulerService(SchedulerRegistry schedulers, ParallelTransformConfig parallelConfig) {
+        this.schedulers = schedulers;
+        this.parallelConfig = parallelConfig;
+        this.uppercaseTransformer = new ParallelTransformer<>(this::uppercase, parallelConfig, schedulers.cpu());
+        this.orderedMap = new OrderedConcurrentMap("names", schedulers.timer());
+    }
+
+    public FluxAndMonoSchedulerService(SchedulerRegistry schedulers) {
+        this(schedulers, ParallelTransformConfig.defaults());
+    }
+
+    public FluxAndMonoSchedulerService() {
+        this(SchedulerRegistry.global());
+    }
+
     public Flux<String> explorePublishOn() {
         Flux<String> namesFlux = Flux.fromIterable(namesList)
-                .publishOn(Schedulers.parallel())
+                .publishOn(schedulers.cpu())
                 .map(this::uppercase);
 
         Flux<String> namesFlux1 = Flux.fromIterable(nameslist1)
-                .publishOn(Schedulers.parallel())
+                .publishOn(schedulers.cpu())
                 .map(this::uppercase);
 
         return namesFlux.mergeWith(namesFlux1);
@@ -31,11 +60,11 @@ public class FluxAndMonoSchedulerService {
 
     public Flux<String> exploreSubscribeOn() {
         Flux<String> namesFlux = getMap()
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(schedulers.blockingIo())
                 .doOnNext(name -> log.info("name is: {}", name));
 
         Flux<String> namesFlux1 = getMap()
-                .subscribeOn(Schedulers.boundedElastic());
+                .subscribeOn(schedulers.blockingIo());
 
         return namesFlux.mergeWith(namesFlux1);
     }
@@ -45,17 +74,22 @@ public class FluxAndMonoSchedulerService {
         log.info("Available processors: {}", availableProcessors);
 
         return Flux.fromIterable(namesList)
-                .parallel()
-                .runOn(Schedulers.parallel())
+                .parallel(parallelConfig.getRails(), parallelConfig.getPrefetch())
+                .runOn(schedulers.cpu(), parallelConfig.getPrefetch())
                 .map(this::uppercase);
     }
 
+    public Flux<String> exploreParallelTransform() {
+        return Flux.fromIterable(namesList)
+                .transform(uppercaseTransformer);
+    }
+
     public Flux<String> exploreParallelUsingFlatMap() {
         return Flux.fromIterable(namesList)
                 .flatMap(name -> {
                     return Mono.just(name)
                             .map(this::uppercase)
-                            .subscribeOn(Schedulers.parallel());
+                            .subscribeOn(schedulers.cpu());
                 });
     }
 
@@ -64,23 +98,35 @@ public class FluxAndMonoSchedulerService {
                 .flatMapSequential(name -> {
                     return Mono.just(name)
                             .map(this::uppercase)
-                            .subscribeOn(Schedulers.parallel());
+                            .subscribeOn(schedulers.cpu());
                 });
     }
 
+    public Flux<String> exploreParallelUsingOrderedMap() {
+        OrderedMapConfig config = OrderedMapConfig.builder()
+                .concurrency(parallelConfig.getRails())
+                .maxBuffered(ORDERED_MAP_MAX_BUFFERED)
+                .build();
+
+        return Flux.fromIterable(namesList)
+                .transform(orderedMap.transform(name -> Mono.just(name)
+                        .map(this::uppercase)
+                        .subscribeOn(schedulers.cpu()), config));
+    }
+
     public Flux<String> exploreParallelUsingFlatMap1() {
         Flux<String> namesFlux = Flux.fromIterable(namesList)
                 .flatMap(name -> {
                     return Mono.just(name)
                             .map(this::uppercase)
-                            .subscribeOn(Schedulers.parallel());
+                            .subscribeOn(schedulers.cpu());
                 });
 
         Flux<String> namesFlux1 = Flux.fromIterable(nameslist1)
                 .flatMap(name -> {
                     return Mono.just(name)
                             .map(this::uppercase)
-                            .subscribeOn(Schedulers.parallel());
+                            .subscribeOn(schedulers.cpu());
                 });
 
         return namesFlux.mergeWith(namesFlux1);
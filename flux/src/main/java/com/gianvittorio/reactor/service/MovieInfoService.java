@@ -1,6 +1,12 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.domain.CatalogChange;
 import com.gianvittorio.reactor.domain.MovieInfo;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.resilience.Bulkhead;
+import com.gianvittorio.reactor.resilience.CircuitBreaker;
+import com.gianvittorio.reactor.resilience.Hedger;
+import com.gianvittorio.reactor.resilience.RemoteCallPolicy;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
@@ -12,21 +18,35 @@ import static com.gianvittorio.reactor.util.CommonUtil.delay;
 
 public class MovieInfoService {
 
+    private static final String SERVICE_NAME = "movieInfo";
+
     private WebClient webClient = null;
 
+    private RemoteCallPolicy remoteCallPolicy = RemoteCallPolicy.none();
+
     public MovieInfoService(WebClient webClient) {
         this.webClient = webClient;
     }
 
+    public MovieInfoService(WebClient webClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead, Hedger hedger) {
+        this.webClient = webClient;
+        this.remoteCallPolicy = new RemoteCallPolicy(circuitBreaker, bulkhead, hedger);
+    }
+
+    public MovieInfoService(WebClient webClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this(webClient, circuitBreaker, bulkhead, Hedger.disabled());
+    }
+
     public MovieInfoService() {
     }
 
     public Flux<MovieInfo> retrieveAllMovieInfoRestClient() {
         return webClient.get()
                 .uri("/v1/movie_infos")
-                .accept(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(MovieInfo.class);
+                .bodyToFlux(MovieInfo.class)
+                .transform(remoteCallPolicy.transformFlux(SERVICE_NAME, "retrieveAllMovieInfoRestClient"));
     }
 
     public Mono<MovieInfo> retrieveAllMovieInfoByIdRestClient(long movieId) {
@@ -34,7 +54,33 @@ public class MovieInfoService {
                 .uri("/v1/movie_infos/{id}", movieId)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToMono(MovieInfo.class);
+                .bodyToMono(MovieInfo.class)
+                .transform(remoteCallPolicy.transformMono(SERVICE_NAME, "retrieveAllMovieInfoByIdRestClient"));
+    }
+
+    public Flux<CatalogChange> retrieveMovieInfoChangesRestClient(long sinceVersion, int limit) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/movie_infos/changes")
+                        .queryParam("sinceVersion", sinceVersion)
+                        .queryParam("limit", limit)
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(CatalogChange.class)
+                .transform(remoteCallPolicy.transformFlux(SERVICE_NAME, "retrieveMovieInfoChangesRestClient"));
+    }
+
+    public Flux<CatalogChange> retrieveMovieInfoChanges(long sinceVersion, int limit) {
+        List<CatalogChange> changeList = List.of(
+                CatalogChange.builder().movieInfoId(100l).version(1l).build(),
+                CatalogChange.builder().movieInfoId(101l).version(2l).build(),
+                CatalogChange.builder().movieInfoId(102l).version(3l).build()
+        );
+
+        return Flux.fromIterable(changeList)
+                .filter(change -> change.getVersion() > sinceVersion)
+                .take(limit)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "retrieveMovieInfoChanges"));
     }
 
     public Flux<MovieInfo> retrieveMoviesFlux() {
@@ -44,7 +90,8 @@ public class MovieInfoService {
                 MovieInfo.builder().movieInfoId(102l).name("Dark Knight Rises").year(2012).cast(List.of("Christian Bale", "Tom Hardy")).build()
         );
 
-        return Flux.fromIterable(movieInfoList);
+        return Flux.fromIterable(movieInfoList)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "retrieveMoviesFlux"));
     }
 
     public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
@@ -55,7 +102,8 @@ public class MovieInfoService {
                 .cast(List.of("Christian Bale", "Liam Neeson"))
                 .build();
 
-        return Mono.just(movie);
+        return Mono.just(movie)
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "retrieveMovieInfoMonoUsingId"));
     }
 
     public List<MovieInfo> movieList() {
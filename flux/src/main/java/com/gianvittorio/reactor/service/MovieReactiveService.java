@@ -1,101 +1,291 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.backpressure.BackpressureGuard;
+import com.gianvittorio.reactor.batch.BatchingConfig;
+import com.gianvittorio.reactor.batch.BatchingSubscriber;
+import com.gianvittorio.reactor.config.MovieAggregationOptions;
+import com.gianvittorio.reactor.deadline.Deadlines;
+import com.gianvittorio.reactor.domain.CatalogChange;
 import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.domain.MovieAggregationFailure;
+import com.gianvittorio.reactor.domain.MovieChange;
 import com.gianvittorio.reactor.domain.MovieInfo;
 import com.gianvittorio.reactor.domain.Revenue;
 import com.gianvittorio.reactor.domain.Review;
+import com.gianvittorio.reactor.exception.CallNotPermittedException;
 import com.gianvittorio.reactor.exception.MovieException;
 import com.gianvittorio.reactor.exception.NetworkException;
 import com.gianvittorio.reactor.exception.ServiceException;
+import com.gianvittorio.reactor.feed.SharedFeed;
+import com.gianvittorio.reactor.loader.DataLoader;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.parallel.OrderedConcurrentMap;
+import com.gianvittorio.reactor.parallel.OrderedMapConfig;
+import com.gianvittorio.reactor.repeat.RepeatPolicy;
+import com.gianvittorio.reactor.repeat.RepeatScheduler;
+import com.gianvittorio.reactor.retry.RetryPolicies;
+import com.gianvittorio.reactor.retry.RetryPolicy;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import com.gianvittorio.reactor.util.RequestBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.Exceptions;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 import reactor.util.retry.Retry;
-import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
-public class MovieReactiveService {
+public class MovieReactiveService implements Disposable {
+
+    private static final String SERVICE_NAME = "movie";
+
+    private static final RetryPolicies DEFAULT_ELEMENT_RETRY_POLICIES = RetryPolicies.none()
+            .with(NetworkException.class, RetryPolicy.builder().maxRetries(3).minBackoff(Duration.ofMillis(500)).build());
 
     private final MovieInfoService movieInfoService;
 
     private final ReviewService reviewService;
 
-    private RevenueService revenueService = null;
+    private final ReactiveRevenueService reactiveRevenueService;
 
-    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, RevenueService revenueService) {
+    private final MovieAggregationOptions options;
+
+    private final SchedulerRegistry schedulers;
+
+    private final OrderedConcurrentMap orderedMap;
+
+    private final SharedFeed<Movie> sharedCatalog;
+
+    private final BackpressureGuard backpressureGuard;
+
+    private static final int MOVIE_LOADER_BATCH_SIZE = 100;
+
+    private static final Duration MOVIE_LOADER_BATCH_WINDOW = Duration.ofMillis(10);
+
+    private static final String REVIEWS_PART = "reviews";
+
+    private static final String REVENUE_PART = "revenue";
+
+    private static final String PARTIAL_METER_NAME = "movies.aggregation.partial";
+
+    private static final long LAST_KNOWN_MAXIMUM_SIZE = 10_000;
+
+    private static final String CHANGE_FEED_METER_NAME = "movies.changefeed.changes";
+
+    private final Cache<Long, List<Review>> lastKnownReviews = Caffeine.newBuilder().maximumSize(LAST_KNOWN_MAXIMUM_SIZE).build();
+
+    private final Cache<Long, Revenue> lastKnownRevenue = Caffeine.newBuilder().maximumSize(LAST_KNOWN_MAXIMUM_SIZE).build();
+
+    private final Sinks.Many<MovieAggregationFailure> failureSink = Sinks.many().multicast().directBestEffort();
+
+    private final DataLoader<Long, Movie> movieLoader = new DataLoader<>(this::loadMovies, MOVIE_LOADER_BATCH_SIZE, MOVIE_LOADER_BATCH_WINDOW);
+
+    private volatile boolean disposed;
+
+    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, ReactiveRevenueService reactiveRevenueService, MovieAggregationOptions options, SchedulerRegistry schedulers) {
         this.movieInfoService = movieInfoService;
         this.reviewService = reviewService;
-        this.revenueService = revenueService;
+        this.reactiveRevenueService = reactiveRevenueService;
+        this.options = options;
+        this.schedulers = schedulers;
+        this.orderedMap = new OrderedConcurrentMap(SERVICE_NAME, schedulers.timer());
+        this.backpressureGuard = new BackpressureGuard(SERVICE_NAME);
+        this.sharedCatalog = new SharedFeed<>(SERVICE_NAME, Flux.defer(() -> getAllMovies(options)), options.getSharedCatalog(), schedulers.timer());
+    }
+
+    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, ReactiveRevenueService reactiveRevenueService, MovieAggregationOptions options) {
+        this(movieInfoService, reviewService, reactiveRevenueService, options, SchedulerRegistry.global());
+    }
+
+    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, ReactiveRevenueService reactiveRevenueService) {
+        this(movieInfoService, reviewService, reactiveRevenueService, MovieAggregationOptions.defaults());
+    }
+
+    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, RevenueService revenueService) {
+        this(movieInfoService, reviewService, new ReactiveRevenueService(revenueService));
+    }
+
+    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService, MovieAggregationOptions options) {
+        this(movieInfoService, reviewService, (ReactiveRevenueService) null, options);
     }
 
     public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService) {
-        this.movieInfoService = movieInfoService;
-        this.reviewService = reviewService;
+        this(movieInfoService, reviewService, MovieAggregationOptions.defaults());
+    }
+
+    // Disposes what this service created itself; the services and schedulers it was given belong to the caller
+    @Override
+    public void dispose() {
+        disposed = true;
+        movieLoader.dispose();
+        orderedMap.dispose();
+        sharedCatalog.dispose();
+        backpressureGuard.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
     }
 
     public Flux<Movie> getAllMovies() {
-        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
+        return getAllMovies(options);
+    }
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                    .collectList();
+    public Flux<Movie> getAllMovies(MovieAggregationOptions options) {
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
 
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
-        })
+        return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, options), options)
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
                     throw new MovieException(ex.getMessage());
-                });
+                })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMovies"))
+                .transform(backpressureGuard.transform("getAllMovies", options.getBackpressure()));
+    }
+
+    public Flux<Movie> getAllMoviesShared() {
+        return sharedCatalog.flux()
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesShared"))
+                .transform(backpressureGuard.transform("getAllMoviesShared", options.getBackpressure()));
+    }
+
+    public Mono<Void> exportAllMovies(Function<List<Movie>, Mono<Void>> warehouseWriter, BatchingConfig batchingConfig) {
+        return Mono.defer(() -> {
+                    BatchingSubscriber<Movie> subscriber = new BatchingSubscriber<>(SERVICE_NAME, warehouseWriter, batchingConfig, schedulers.timer());
+
+                    getAllMovies().subscribe(subscriber);
+
+                    return subscriber.completion()
+                            .doOnCancel(subscriber::dispose);
+                })
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "exportAllMovies"));
     }
 
     public Flux<Movie> getAllMoviesRestClient() {
+        return getAllMoviesRestClient(options);
+    }
+
+    public Flux<Movie> getAllMoviesRestClient(MovieAggregationOptions options) {
         Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveAllMovieInfoRestClient();
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFluxRestClient(movieInfo.getMovieInfoId())
-                    .collectList();
+        return aggregate(movieInfoFlux, movieInfo -> toMovieRestClient(movieInfo, options), options)
+                .onErrorMap(ex -> {
+                    log.error("Exception is: " + ex);
+
+                    throw new MovieException(ex.getMessage());
+                })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesRestClient"))
+                .transform(backpressureGuard.transform("getAllMoviesRestClient", options.getBackpressure()));
+    }
 
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
-        })
+    public Flux<Movie> getAllMoviesBatched(int batchSize, Duration maxWaitTime) {
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
+
+        Function<List<MovieInfo>, Mono<List<Movie>>> toMovies = movieInfos -> reviewService.retrieveReviewsFluxBatch(getMovieInfoIds(movieInfos))
+                .collectMultimap(Review::getMovieInfoId)
+                .map(reviewsById -> toMovies(movieInfos, reviewsById));
+
+        return aggregate(batch(movieInfoFlux, batchSize, maxWaitTime), toMovies, options)
+                .flatMapIterable(Function.identity())
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
                     throw new MovieException(ex.getMessage());
-                });
+                })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesBatched"))
+                .transform(backpressureGuard.transform("getAllMoviesBatched", options.getBackpressure()));
+    }
+
+    public Flux<Movie> getAllMoviesRestClientBatched(int batchSize, Duration maxWaitTime) {
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveAllMovieInfoRestClient();
+
+        Function<List<MovieInfo>, Mono<List<Movie>>> toMovies = movieInfos -> reviewService.retrieveReviewsFluxBatchRestClient(getMovieInfoIds(movieInfos))
+                .collectMultimap(Review::getMovieInfoId)
+                .map(reviewsById -> toMovies(movieInfos, reviewsById));
+
+        return aggregate(batch(movieInfoFlux, batchSize, maxWaitTime), toMovies, options)
+                .flatMapIterable(Function.identity())
+                .onErrorMap(ex -> {
+                    log.error("Exception is: " + ex);
+
+                    throw new MovieException(ex.getMessage());
+                })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesRestClientBatched"))
+                .transform(backpressureGuard.transform("getAllMoviesRestClientBatched", options.getBackpressure()));
+    }
+
+    private Flux<List<MovieInfo>> batch(Flux<MovieInfo> movieInfoFlux, int batchSize, Duration maxWaitTime) {
+        // bufferTimeout emits a partial batch on its timer whether or not there is demand, which overflows while
+        // aggregate() is busy with earlier batches, so closed batches wait in a queue for a slot instead. The queue
+        // is bounded: a catalog that outruns the lookups by more than maxQueuedBatches fails instead of piling up
+        return movieInfoFlux.bufferTimeout(batchSize, maxWaitTime, schedulers.timer())
+                .onBackpressureBuffer(options.getMaxQueuedBatches(), BufferOverflowStrategy.ERROR);
+    }
+
+    private static List<Long> getMovieInfoIds(List<MovieInfo> movieInfos) {
+        return movieInfos.stream()
+                .map(MovieInfo::getMovieInfoId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Movie> toMovies(List<MovieInfo> movieInfos, Map<Long, Collection<Review>> reviewsById) {
+        return movieInfos.stream()
+                .map(movieInfo -> {
+                    List<Review> reviewList = new ArrayList<>(
+                            reviewsById.getOrDefault(movieInfo.getMovieInfoId(), Collections.emptyList())
+                    );
+
+                    return Movie.builder().reviewList(reviewList).movieInfo(movieInfo).build();
+                })
+                .collect(Collectors.toList());
     }
 
     public Flux<Movie> getAllMoviesWithRetry() {
         Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                    .collectList();
-
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
-        })
+        return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, options), options)
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
                     throw new MovieException(ex.getMessage());
                 })
-                .retry(3);
+                .retry(3)
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithRetry"))
+                .transform(backpressureGuard.transform("getAllMoviesWithRetry", options.getBackpressure()));
     }
 
     public Flux<Movie> getAllMoviesWithRetryWhen() {
         Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                    .collectList();
-
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
-        })
+        return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, options), options)
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
@@ -106,19 +296,48 @@ public class MovieReactiveService {
                     throw new ServiceException(ex.getMessage());
                 })
                 .retryWhen(
-                        getRetrySpec()
-                );
+                        getRetrySpec("getAllMoviesWithRetryWhen")
+                )
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithRetryWhen"))
+                .transform(backpressureGuard.transform("getAllMoviesWithRetryWhen", options.getBackpressure()));
     }
 
-    public Flux<Movie> getAllMoviesWithRepeat() {
-        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
+    public Flux<Movie> getAllMoviesWithElementRetry() {
+        MovieAggregationOptions elementOptions = options.getReviewRetryPolicies().isEmpty()
+                ? options.toBuilder().reviewRetryPolicies(DEFAULT_ELEMENT_RETRY_POLICIES).build()
+                : options;
+
+        return Flux.defer(() -> {
+            Set<Long> emittedIds = ConcurrentHashMap.newKeySet();
+
+            Flux<MovieInfo> movieInfoFlux = Flux.defer(movieInfoService::retrieveMoviesFlux)
+                    .filter(movieInfo -> !emittedIds.contains(movieInfo.getMovieInfoId()));
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                    .collectList();
+            return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, elementOptions), elementOptions)
+                    .filter(movie -> emittedIds.add(movie.getMovieInfo().getMovieInfoId()))
+                    .onErrorMap(ex -> {
+                        log.error("Exception is: " + ex);
 
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
+                        if (ex instanceof NetworkException) {
+                            throw new MovieException(ex.getMessage());
+                        }
+
+                        throw new ServiceException(ex.getMessage());
+                    })
+                    .retryWhen(
+                            getRetrySpec("getAllMoviesWithElementRetry")
+                    );
         })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithElementRetry"))
+                .transform(backpressureGuard.transform("getAllMoviesWithElementRetry", options.getBackpressure()));
+    }
+
+    public Flux<Movie> getAllMoviesWithRepeat() {
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
+
+        return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, options), options)
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
@@ -129,20 +348,17 @@ public class MovieReactiveService {
                     throw new ServiceException(ex.getMessage());
                 })
                 .retryWhen(
-                        getRetrySpec()
+                        getRetrySpec("getAllMoviesWithRepeat")
                 )
-                .repeat();
+                .transform(repeatScheduler(options.getRepeatPolicy()).transform())
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithRepeat"))
+                .transform(backpressureGuard.transform("getAllMoviesWithRepeat", options.getBackpressure()));
     }
 
     public Flux<Movie> getAllMoviesWithRepeat(long times) {
         Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
 
-        return movieInfoFlux.flatMap(movieInfo -> {
-            Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                    .collectList();
-
-            return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).build());
-        })
+        return aggregate(movieInfoFlux, movieInfo -> toMovie(movieInfo, options), options)
                 .onErrorMap(ex -> {
                     log.error("Exception is: " + ex);
 
@@ -153,17 +369,242 @@ public class MovieReactiveService {
                     throw new ServiceException(ex.getMessage());
                 })
                 .retryWhen(
-                        getRetrySpec()
+                        getRetrySpec("getAllMoviesWithRepeat")
                 )
-                .repeat(times);
+                .transform(repeatScheduler(options.getRepeatPolicy().toBuilder().maxRepeats(times).build()).transform())
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithRepeat"))
+                .transform(backpressureGuard.transform("getAllMoviesWithRepeat", options.getBackpressure()));
+    }
+
+    private RepeatScheduler repeatScheduler(RepeatPolicy repeatPolicy) {
+        return new RepeatScheduler(SERVICE_NAME, repeatPolicy, schedulers.timer());
+    }
+
+    public Flux<MovieChange> getMovieChanges(long sinceVersion) {
+        return changeFeed(
+                sinceVersion,
+                movieInfoService::retrieveMovieInfoChanges,
+                reviewService::retrieveReviewChanges,
+                movieInfoId -> movieInfoService.retrieveMovieInfoMonoUsingId(movieInfoId)
+                        .flatMap(movieInfo -> toMovie(movieInfo, options)),
+                options
+        )
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getMovieChanges"))
+                .transform(backpressureGuard.transform("getMovieChanges", options.getBackpressure()));
+    }
+
+    public Flux<MovieChange> getMovieChangesRestClient(long sinceVersion) {
+        return changeFeed(
+                sinceVersion,
+                movieInfoService::retrieveMovieInfoChangesRestClient,
+                reviewService::retrieveReviewChangesRestClient,
+                movieInfoId -> movieInfoService.retrieveAllMovieInfoByIdRestClient(movieInfoId)
+                        .flatMap(movieInfo -> toMovieRestClient(movieInfo, options)),
+                options
+        )
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getMovieChangesRestClient"))
+                .transform(backpressureGuard.transform("getMovieChangesRestClient", options.getBackpressure()));
+    }
+
+    private Flux<MovieChange> changeFeed(long sinceVersion,
+                                         ChangeSource movieInfoChanges,
+                                         ChangeSource reviewChanges,
+                                         Function<Long, Mono<Movie>> movieLoader,
+                                         MovieAggregationOptions options) {
+        return Flux.defer(() -> {
+            AtomicLong watermark = new AtomicLong(sinceVersion);
+
+            return Flux.defer(() -> pollChanges(watermark.get(), movieInfoChanges, reviewChanges, movieLoader, options))
+                    .doOnNext(change -> watermark.accumulateAndGet(change.getVersion(), Math::max))
+                    .repeatWhen(completions -> completions.delayElements(options.getChangePollInterval(), schedulers.timer()));
+        });
+    }
+
+    private Flux<MovieChange> pollChanges(long sinceVersion,
+                                          ChangeSource movieInfoChanges,
+                                          ChangeSource reviewChanges,
+                                          Function<Long, Mono<Movie>> movieLoader,
+                                          MovieAggregationOptions options) {
+        int limit = options.getChangeBatchSize();
+
+        Mono<List<CatalogChange>> movieInfoPage = movieInfoChanges.changesSince(sinceVersion, limit).collectList();
+        Mono<List<CatalogChange>> reviewPage = reviewChanges.changesSince(sinceVersion, limit)
+                .map(change -> change.toBuilder().deleted(false).build())
+                .collectList();
+
+        return Mono.zip(movieInfoPage, reviewPage)
+                .flatMapIterable(pages -> {
+                    // A full page may have more changes behind it, so only trust versions up to the lowest full page's end
+                    long cutoff = Math.min(pageCutoff(pages.getT1(), limit), pageCutoff(pages.getT2(), limit));
+
+                    Map<Long, CatalogChange> latestChanges = new HashMap<>();
+                    pages.getT1().forEach(change -> latestChanges.merge(change.getMovieInfoId(), change, MovieReactiveService::latestChange));
+                    pages.getT2().forEach(change -> latestChanges.merge(change.getMovieInfoId(), change, MovieReactiveService::latestChange));
+
+                    return latestChanges.values()
+                            .stream()
+                            .filter(change -> change.getVersion() <= cutoff)
+                            .sorted(Comparator.comparing(CatalogChange::getVersion))
+                            .collect(Collectors.toList());
+                })
+                .flatMapSequential(change -> toMovieChange(change, movieLoader), options.getConcurrency(), options.getPrefetch());
+    }
+
+    private Mono<MovieChange> toMovieChange(CatalogChange change, Function<Long, Mono<Movie>> movieLoader) {
+        MovieChange tombstone = MovieChange.builder()
+                .movieInfoId(change.getMovieInfoId())
+                .version(change.getVersion())
+                .tombstone(true)
+                .build();
+
+        Mono<MovieChange> movieChange = change.isDeleted()
+                ? Mono.just(tombstone)
+                : movieLoader.apply(change.getMovieInfoId())
+                .map(movie -> MovieChange.builder().movieInfoId(change.getMovieInfoId()).version(change.getVersion()).movie(movie).build())
+                .defaultIfEmpty(tombstone);
+
+        return movieChange.doOnNext(emitted -> Counter.builder(CHANGE_FEED_METER_NAME)
+                .tag("type", emitted.isTombstone() ? "tombstone" : "upsert")
+                .register(ServiceMetrics.registry())
+                .increment());
+    }
+
+    private static long pageCutoff(List<CatalogChange> page, int limit) {
+        if (page.size() < limit) {
+            return Long.MAX_VALUE;
+        }
+
+        return page.stream()
+                .mapToLong(CatalogChange::getVersion)
+                .max()
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private static CatalogChange latestChange(CatalogChange current, CatalogChange candidate) {
+        return candidate.getVersion() > current.getVersion() ? candidate : current;
+    }
+
+    private interface ChangeSource {
+        Flux<CatalogChange> changesSince(long sinceVersion, int limit);
+    }
+
+    private <T, R> Flux<R> aggregate(Flux<T> source, Function<T, Mono<R>> mapper, MovieAggregationOptions options) {
+        RequestBudget requestBudget = options.getRequestBudget();
+        Function<T, Mono<R>> budgetedMapper = item -> requestBudget.withPermit(Mono.defer(() -> mapper.apply(item)));
+
+        if (options.isOrdered() && options.getReorderBufferSize() > 0) {
+            OrderedMapConfig orderedMapConfig = OrderedMapConfig.builder()
+                    .concurrency(options.getConcurrency())
+                    .maxBuffered(options.getReorderBufferSize())
+                    .build();
+
+            return source.transform(orderedMap.transform(budgetedMapper, orderedMapConfig));
+        }
+
+        if (options.isOrdered()) {
+            return source.flatMapSequential(budgetedMapper, options.getConcurrency(), options.getPrefetch());
+        }
+
+        return source.flatMap(budgetedMapper, options.getConcurrency(), options.getPrefetch());
     }
 
-    private static RetryBackoffSpec getRetrySpec() {
-        return Retry.fixedDelay(3, Duration.ofMillis(500))
-                .filter(ex -> ex instanceof MovieException)
-                .onRetryExhaustedThrow(
-                        (retryBackoffSpec, retrySignal) -> Exceptions.propagate(retrySignal.failure())
-                );
+    private Mono<Movie> toMovie(MovieInfo movieInfo, MovieAggregationOptions options) {
+        AtomicBoolean partial = new AtomicBoolean();
+
+        Mono<List<Review>> reviewsMono = withPartialFallback(
+                withReviewRetry(
+                        Mono.defer(() -> reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId()).collectList()),
+                        "retrieveReviewsFlux",
+                        options
+                ),
+                movieInfo.getMovieInfoId(), REVIEWS_PART, lastKnownReviews, Collections.emptyList(), partial, options
+        );
+
+        return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).partial(partial.get()).build());
+    }
+
+    private Mono<Movie> toMovieRestClient(MovieInfo movieInfo, MovieAggregationOptions options) {
+        AtomicBoolean partial = new AtomicBoolean();
+
+        Mono<List<Review>> reviewsMono = withPartialFallback(
+                withReviewFallback(
+                        withReviewRetry(
+                                Mono.defer(() -> reviewService.retrieveReviewsFluxRestClient(movieInfo.getMovieInfoId()).collectList()),
+                                "retrieveReviewsFluxRestClient",
+                                options
+                        ),
+                        options
+                ),
+                movieInfo.getMovieInfoId(), REVIEWS_PART, lastKnownReviews, Collections.emptyList(), partial, options
+        );
+
+        return reviewsMono.map(reviewsList -> Movie.builder().reviewList(reviewsList).movieInfo(movieInfo).partial(partial.get()).build());
+    }
+
+    private <T> Mono<T> withReviewRetry(Mono<T> reviewsMono, String pipeline, MovieAggregationOptions options) {
+        RetryPolicies reviewRetryPolicies = options.getReviewRetryPolicies();
+
+        if (reviewRetryPolicies.isEmpty()) {
+            return reviewsMono;
+        }
+
+        return reviewsMono.retryWhen(reviewRetryPolicies.toRetry(pipeline, options.getRetryBudget(), schedulers.timer()));
+    }
+
+    private Mono<List<Review>> withReviewFallback(Mono<List<Review>> reviewsMono, MovieAggregationOptions options) {
+        if (!options.isDegradeReviewsWhenOpen()) {
+            return reviewsMono;
+        }
+
+        return reviewsMono.onErrorResume(CallNotPermittedException.class, ex -> {
+            log.warn("Serving movie without reviews: {}", ex.getMessage());
+
+            return Mono.just(Collections.emptyList());
+        });
+    }
+
+    private <T> Mono<T> withPartialFallback(Mono<T> partMono, long movieInfoId, String part, Cache<Long, T> lastKnown, T empty, AtomicBoolean partial, MovieAggregationOptions options) {
+        if (!options.isPartialResults()) {
+            return partMono;
+        }
+
+        Mono<T> boundedPartMono = options.getElementTimeout() == null
+                ? partMono
+                : partMono.timeout(options.getElementTimeout(), schedulers.timer());
+
+        return boundedPartMono
+                .doOnNext(value -> lastKnown.put(movieInfoId, value))
+                .onErrorResume(ex -> {
+                    T stale = lastKnown.getIfPresent(movieInfoId);
+
+                    partial.set(true);
+                    reportFailure(MovieAggregationFailure.builder().movieInfoId(movieInfoId).part(part).cause(ex).servedStale(stale != null).build());
+
+                    return Mono.justOrEmpty(stale != null ? stale : empty);
+                });
+    }
+
+    private void reportFailure(MovieAggregationFailure failure) {
+        log.warn("Serving partial movie {}, {} failed: {}", failure.getMovieInfoId(), failure.getPart(), failure.getCause().toString());
+
+        Counter.builder(PARTIAL_METER_NAME)
+                .tag("part", failure.getPart())
+                .tag("stale", String.valueOf(failure.isServedStale()))
+                .register(ServiceMetrics.registry())
+                .increment();
+
+        synchronized (failureSink) {
+            failureSink.tryEmitNext(failure);
+        }
+    }
+
+    public Flux<MovieAggregationFailure> aggregationFailures() {
+        return failureSink.asFlux();
+    }
+
+    private Retry getRetrySpec(String pipeline) {
+        return options.getRetryPolicies()
+                .toRetry(pipeline, options.getRetryBudget(), schedulers.timer());
     }
 
     public Mono<Movie> getMovieById(long movieId) {
@@ -175,7 +616,26 @@ public class MovieReactiveService {
                             .collectList();
 
                     return reviewsMono.map(reviews -> Movie.builder().reviewList(reviews).movieInfo(movieInfo).build());
-                });
+                })
+                .transform(Deadlines.withinMono(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "getMovieById"));
+    }
+
+    public Mono<Movie> getMovieByIdCoalesced(long movieId) {
+        return movieLoader.load(movieId)
+                .transform(Deadlines.withinMono(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "getMovieByIdCoalesced"));
+    }
+
+    private Mono<Map<Long, Movie>> loadMovies(List<Long> movieIds) {
+        return Flux.fromIterable(movieIds)
+                .flatMap(movieInfoService::retrieveMovieInfoMonoUsingId)
+                .collectList()
+                .flatMap(movieInfos -> reviewService.retrieveReviewsFluxBatch(getMovieInfoIds(movieInfos))
+                        .collectMultimap(Review::getMovieInfoId)
+                        .map(reviewsById -> toMovies(movieInfos, reviewsById)))
+                .flatMapIterable(Function.identity())
+                .collectMap(movie -> movie.getMovieInfo().getMovieInfoId());
     }
 
     public Mono<Movie> getMovieByIdRestClient(long movieId) {
@@ -183,27 +643,75 @@ public class MovieReactiveService {
         return Mono.just(movieId)
                 .flatMap(movieInfoService::retrieveAllMovieInfoByIdRestClient)
                 .flatMap(movieInfo -> {
-                    Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFluxRestClient(movieInfo.getMovieInfoId())
-                            .collectList();
+                    Mono<List<Review>> reviewsMono = withReviewFallback(
+                            reviewService.retrieveReviewsFluxRestClient(movieInfo.getMovieInfoId()).collectList(),
+                            options
+                    );
 
                     return reviewsMono.map(reviews -> Movie.builder().reviewList(reviews).movieInfo(movieInfo).build());
-                });
+                })
+                .transform(Deadlines.withinMono(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "getMovieByIdRestClient"));
     }
 
     public Mono<Movie> getMovieByIdWithRevenue(long movieId) {
+        requireRevenueService();
 
         return Mono.just(movieId)
                 .flatMap(movieInfoService::retrieveMovieInfoMonoUsingId)
-                .flatMap(movieInfo -> {
-                    Mono<List<Review>> reviewsMono = reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId())
-                            .collectList();
+                .flatMap(movieInfo -> toMovieWithRevenue(movieInfo, options))
+                .transform(Deadlines.withinMono(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "getMovieByIdWithRevenue"));
+    }
 
-                    Mono<Revenue> revenueMono = Mono.fromCallable(() -> revenueService.getRevenue(movieInfo.getMovieInfoId()))
-                            .subscribeOn(Schedulers.boundedElastic());
+    public Flux<Movie> getAllMoviesWithRevenue(int concurrency) {
+        return getAllMoviesWithRevenue(concurrency, Queues.XS_BUFFER_SIZE);
+    }
 
-                    return reviewsMono.zipWith(
-                            revenueMono,
-                            (reviews, revenue) -> Movie.builder().reviewList(reviews).movieInfo(movieInfo).revenue(revenue).build());
-                });
+    public Flux<Movie> getAllMoviesWithRevenue(int concurrency, int prefetch) {
+        requireRevenueService();
+
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveMoviesFlux();
+
+        MovieAggregationOptions revenueOptions = options.toBuilder()
+                .concurrency(concurrency)
+                .prefetch(prefetch)
+                .build();
+
+        return aggregate(movieInfoFlux, movieInfo -> toMovieWithRevenue(movieInfo, revenueOptions), revenueOptions)
+                .onErrorMap(ex -> {
+                    log.error("Exception is: " + ex);
+
+                    throw new MovieException(ex.getMessage());
+                })
+                .transform(Deadlines.withinFlux(options.getDeadline(), schedulers.timer()))
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getAllMoviesWithRevenue"))
+                .transform(backpressureGuard.transform("getAllMoviesWithRevenue", options.getBackpressure()));
+    }
+
+    private void requireRevenueService() {
+        if (reactiveRevenueService == null) {
+            throw new IllegalStateException("MovieReactiveService was built without a revenue service, revenue lookups are not available");
+        }
+    }
+
+    private Mono<Movie> toMovieWithRevenue(MovieInfo movieInfo, MovieAggregationOptions options) {
+        AtomicBoolean partial = new AtomicBoolean();
+
+        Mono<List<Review>> reviewsMono = withPartialFallback(
+                reviewService.retrieveReviewsFlux(movieInfo.getMovieInfoId()).collectList(),
+                movieInfo.getMovieInfoId(), REVIEWS_PART, lastKnownReviews, Collections.emptyList(), partial, options
+        );
+
+        Mono<Optional<Revenue>> revenueMono = withPartialFallback(
+                reactiveRevenueService.getRevenue(movieInfo.getMovieInfoId()),
+                movieInfo.getMovieInfoId(), REVENUE_PART, lastKnownRevenue, null, partial, options
+        )
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+
+        return reviewsMono.zipWith(
+                revenueMono,
+                (reviews, revenue) -> Movie.builder().reviewList(reviews).movieInfo(movieInfo).revenue(revenue.orElse(null)).partial(partial.get()).build());
     }
 }
@@ -0,0 +1,196 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.deadline.Deadlines;
+import com.gianvittorio.reactor.domain.Revenue;
+import com.gianvittorio.reactor.exception.ServiceException;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReactiveRevenueService implements Disposable {
+
+    private static final String SERVICE_NAME = "revenue";
+
+    private static final String METER_NAME = "movies.revenue";
+
+    private static final String NAME_TAG = "name";
+
+    private static final int TTL_SECONDS = 60;
+
+    private final RevenueService revenueService;
+
+    private final Scheduler scheduler;
+
+    private final Scheduler timer;
+
+    private final int threadCap;
+
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final boolean ownsScheduler;
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    private volatile boolean disposed;
+
+    public ReactiveRevenueService(RevenueService revenueService, int threadCap, int queuedTaskCap) {
+        this(revenueService, Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "revenue", TTL_SECONDS, true), SchedulerRegistry.global().timer(), threadCap, queuedTaskCap, true);
+    }
+
+    public ReactiveRevenueService(RevenueService revenueService, SchedulerRegistry schedulers) {
+        this(revenueService, schedulers.revenue(), schedulers.timer(), schedulers.getConfig().getRevenueThreadCap(), schedulers.getConfig().getRevenueQueuedTaskCap(), false);
+    }
+
+    private ReactiveRevenueService(RevenueService revenueService, Scheduler scheduler, Scheduler timer, int threadCap, int queuedTaskCap, boolean ownsScheduler) {
+        this.revenueService = revenueService;
+        this.scheduler = scheduler;
+        this.timer = timer;
+        this.threadCap = threadCap;
+        this.maxInFlight = threadCap + queuedTaskCap;
+        this.ownsScheduler = ownsScheduler;
+        this.registry = ServiceMetrics.registry();
+        this.meters = bindMetrics(registry);
+    }
+
+    public ReactiveRevenueService(RevenueService revenueService) {
+        this(revenueService, SchedulerRegistry.global());
+    }
+
+    public Mono<Revenue> getRevenue(long movieId) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.incrementAndGet();
+                log.warn("Revenue service saturated, shedding movieId: {}", movieId);
+
+                return Mono.error(new ServiceException("Revenue service saturated, rejected movieId: " + movieId));
+            }
+
+            // The permit follows the blocking task rather than the subscription: a cancelled call keeps its thread
+            // until getRevenue() returns, so the permit is only released early if the task never got to start
+            AtomicBoolean claimed = new AtomicBoolean();
+            Runnable releaseUnlessStarted = () -> {
+                if (claimed.compareAndSet(false, true)) {
+                    inFlight.decrementAndGet();
+                }
+            };
+
+            return Mono.fromCallable(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+
+                active.incrementAndGet();
+
+                try {
+                    return revenueService.getRevenue(movieId);
+                } finally {
+                    active.decrementAndGet();
+                    inFlight.decrementAndGet();
+                }
+            })
+                    .subscribeOn(scheduler)
+                    .doOnCancel(releaseUnlessStarted)
+                    .doOnError(ex -> releaseUnlessStarted.run())
+                    .onErrorMap(RejectedExecutionException.class, ex -> {
+                        rejected.incrementAndGet();
+                        log.warn("Revenue scheduler saturated, shedding movieId: {}", movieId);
+
+                        return new ServiceException("Revenue service saturated, rejected movieId: " + movieId);
+                    });
+        })
+                .transform(Deadlines.enforceMono(timer))
+                .transform(ServiceMetrics.instrumentMono(SERVICE_NAME, "getRevenue"));
+    }
+
+    public Flux<Revenue> getRevenues(List<Long> movieIds) {
+        return Flux.fromIterable(movieIds)
+                .flatMapSequential(this::getRevenue, threadCap)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "getRevenues"));
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    public int queuedCount() {
+        return Math.max(0, inFlight.get() - active.get());
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        meters.forEach(registry::remove);
+
+        if (ownsScheduler) {
+            scheduler.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private List<Meter> bindMetrics(MeterRegistry registry) {
+        return List.of(
+                Gauge.builder(METER_NAME + ".inFlight", inFlight, AtomicInteger::get)
+                        .tag(NAME_TAG, SERVICE_NAME)
+                        .register(registry),
+                Gauge.builder(METER_NAME + ".active", active, AtomicInteger::get)
+                        .tag(NAME_TAG, SERVICE_NAME)
+                        .register(registry),
+                Gauge.builder(METER_NAME + ".queued", this, ReactiveRevenueService::queuedCount)
+                        .tag(NAME_TAG, SERVICE_NAME)
+                        .register(registry),
+                FunctionCounter.builder(METER_NAME + ".rejected", rejected, AtomicLong::get)
+                        .tag(NAME_TAG, SERVICE_NAME)
+                        .register(registry)
+        );
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= maxInFlight) {
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.gianvittorio.reactor.service;
 
 import com.gianvittorio.reactor.domain.Revenue;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
 
 import static com.gianvittorio.reactor.util.CommonUtil.delay;
 
 public class RevenueService {
 
+    private static final String SERVICE_NAME = "revenue";
+
     public Revenue getRevenue(long movieId) {
-        delay(1000);
+        return ServiceMetrics.recordBlocking(SERVICE_NAME, "getRevenue", () -> {
+            delay(1000);
 
-        return Revenue.builder()
-                .movieInfoId(movieId)
-                .budget(1_000_1000)
-                .boxOffice(5_000_1000)
-                .build();
+            return Revenue.builder()
+                    .movieInfoId(movieId)
+                    .budget(1_000_1000)
+                    .boxOffice(5_000_1000)
+                    .build();
+        });
     }
 }
@@ -1,6 +1,12 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.domain.CatalogChange;
 import com.gianvittorio.reactor.domain.Review;
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import com.gianvittorio.reactor.resilience.Bulkhead;
+import com.gianvittorio.reactor.resilience.CircuitBreaker;
+import com.gianvittorio.reactor.resilience.Hedger;
+import com.gianvittorio.reactor.resilience.RemoteCallPolicy;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
@@ -12,12 +18,25 @@ import java.util.List;
 
 public class ReviewService {
 
+    private static final String SERVICE_NAME = "review";
+
     private WebClient webClient = null;
 
+    private RemoteCallPolicy remoteCallPolicy = RemoteCallPolicy.none();
+
     public ReviewService(WebClient webClient) {
         this.webClient = webClient;
     }
 
+    public ReviewService(WebClient webClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead, Hedger hedger) {
+        this.webClient = webClient;
+        this.remoteCallPolicy = new RemoteCallPolicy(circuitBreaker, bulkhead, hedger);
+    }
+
+    public ReviewService(WebClient webClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this(webClient, circuitBreaker, bulkhead, Hedger.disabled());
+    }
+
     public ReviewService() {
     }
 
@@ -42,7 +61,8 @@ public class ReviewService {
                         .build()
         );
 
-        return Flux.fromIterable(reviewList);
+        return Flux.fromIterable(reviewList)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "retrieveReviewsFlux"));
     }
 
     public Flux<Review> retrieveReviewsFluxRestClient(long movieInfoId) {
@@ -58,6 +78,47 @@ public class ReviewService {
                 .retrieve()
                 .bodyToFlux(Review.class);
 
-        return reviewFlux;
+        return reviewFlux
+                .transform(remoteCallPolicy.transformFlux(SERVICE_NAME, "retrieveReviewsFluxRestClient"));
+    }
+
+    public Flux<CatalogChange> retrieveReviewChanges(long sinceVersion, int limit) {
+        List<CatalogChange> changeList = List.of(
+                CatalogChange.builder().movieInfoId(100l).version(4l).build()
+        );
+
+        return Flux.fromIterable(changeList)
+                .filter(change -> change.getVersion() > sinceVersion)
+                .take(limit)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "retrieveReviewChanges"));
+    }
+
+    public Flux<CatalogChange> retrieveReviewChangesRestClient(long sinceVersion, int limit) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/reviews/changes")
+                        .queryParam("sinceVersion", sinceVersion)
+                        .queryParam("limit", limit)
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(CatalogChange.class)
+                .transform(remoteCallPolicy.transformFlux(SERVICE_NAME, "retrieveReviewChangesRestClient"));
+    }
+
+    public Flux<Review> retrieveReviewsFluxBatch(List<Long> movieInfoIds) {
+        return Flux.fromIterable(movieInfoIds)
+                .flatMapIterable(this::retrieveReviews)
+                .transform(ServiceMetrics.instrumentFlux(SERVICE_NAME, "retrieveReviewsFluxBatch"));
+    }
+
+    public Flux<Review> retrieveReviewsFluxBatchRestClient(List<Long> movieInfoIds) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/reviews")
+                        .queryParam("movieInfoId", movieInfoIds)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(Review.class)
+                .transform(remoteCallPolicy.transformFlux(SERVICE_NAME, "retrieveReviewsFluxBatchRestClient"));
     }
 }
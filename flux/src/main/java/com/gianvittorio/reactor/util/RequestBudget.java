@@ -0,0 +1,139 @@
+package com.gianvittorio.reactor.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestBudget {
+
+    private static final int WAITING = 0;
+
+    private static final int GRANTED = 1;
+
+    private static final int CANCELLED = 2;
+
+    private static final RequestBudget UNLIMITED = new RequestBudget(Integer.MAX_VALUE);
+
+    private final int maxInFlight;
+
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+
+    private int available;
+
+    public RequestBudget(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+
+        this.maxInFlight = maxInFlight;
+        this.available = maxInFlight;
+    }
+
+    public static RequestBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public <T> Mono<T> withPermit(Mono<T> source) {
+        if (this == UNLIMITED) {
+            return source;
+        }
+
+        return acquire()
+                .flatMap(permit -> source.doFinally(signalType -> permit.release()));
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public synchronized int availablePermits() {
+        return available;
+    }
+
+    public synchronized int waitingCount() {
+        return waiters.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = null;
+
+            synchronized (this) {
+                if (available > 0) {
+                    --available;
+                } else {
+                    waiter = new Waiter(sink);
+                    waiters.add(waiter);
+                }
+            }
+
+            if (waiter == null) {
+                sink.success(new Permit());
+
+                return;
+            }
+
+            Waiter current = waiter;
+
+            sink.onCancel(() -> {
+                if (current.state.compareAndSet(WAITING, CANCELLED)) {
+                    synchronized (this) {
+                        waiters.remove(current);
+                    }
+                } else {
+                    current.permit.release();
+                }
+            });
+        });
+    }
+
+    private void release() {
+        while (true) {
+            Waiter next;
+
+            synchronized (this) {
+                next = waiters.poll();
+
+                if (next == null) {
+                    ++available;
+
+                    return;
+                }
+            }
+
+            if (next.state.compareAndSet(WAITING, GRANTED)) {
+                next.sink.success(next.permit);
+
+                return;
+            }
+        }
+    }
+
+    private class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                RequestBudget.this.release();
+            }
+        }
+    }
+
+    private class Waiter {
+
+        private final MonoSink<Permit> sink;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private final Permit permit = new Permit();
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gianvittorio.reactor.backpressure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BackpressureGuardTest {
+
+    @Test
+    @DisplayName("Must notify the spilled element and fail with an overflow error after draining the bounded buffer.")
+    public void bufferTest() {
+        // Given
+        BackpressureGuard guard = new BackpressureGuard("backpressure-buffer-test");
+        BackpressureConfig config = BackpressureConfig.builder()
+                .strategy(OverflowStrategy.BUFFER)
+                .bufferSize(10)
+                .build();
+        Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+        List<Integer> spilled = new ArrayList<>();
+
+        // When
+        Flux<Integer> flux = source.asFlux()
+                .transform(guard.transform("buffer", config, spilled::add));
+
+        // Then
+        StepVerifier.create(flux, 0)
+                .expectSubscription()
+                .then(() -> emitRange(source, 20))
+                .thenRequest(10)
+                .expectNextCount(10)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+
+        assertThat(spilled)
+                .containsExactly(11);
+        assertThat(guard.bufferedCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must drop the oldest elements once the bounded buffer is full.")
+    public void dropOldestTest() {
+        // Given
+        BackpressureGuard guard = new BackpressureGuard("backpressure-drop-oldest-test");
+        BackpressureConfig config = BackpressureConfig.builder()
+                .strategy(OverflowStrategy.DROP_OLDEST)
+                .bufferSize(5)
+                .build();
+        Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+        List<Integer> dropped = new ArrayList<>();
+
+        // When
+        Flux<Integer> flux = source.asFlux()
+                .transform(guard.transform("dropOldest", config, dropped::add));
+
+        // Then
+        StepVerifier.create(flux, 0)
+                .expectSubscription()
+                .then(() -> emitRange(source, 20))
+                .then(() -> assertThat(guard.bufferedCount()).isEqualTo(5))
+                .thenRequest(5)
+                .expectNext(16, 17, 18, 19, 20)
+                .verifyComplete();
+
+        assertThat(dropped)
+                .hasSize(15)
+                .startsWith(1, 2, 3);
+        assertThat(guard.bufferedCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must only keep the latest element for a subscriber that is not requesting.")
+    public void latestTest() {
+        // Given
+        BackpressureGuard guard = new BackpressureGuard("backpressure-latest-test");
+        BackpressureConfig config = BackpressureConfig.builder()
+                .strategy(OverflowStrategy.LATEST)
+                .build();
+        Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        // When
+        Flux<Integer> flux = source.asFlux()
+                .transform(guard.transform("latest", config));
+
+        // Then
+        StepVerifier.create(flux, 0)
+                .expectSubscription()
+                .then(() -> emitRange(source, 10))
+                .thenRequest(1)
+                .expectNext(10)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must request upstream in high tide then low tide batches.")
+    public void rateLimitTest() {
+        // Given
+        BackpressureGuard guard = new BackpressureGuard("backpressure-rate-limit-test");
+        BackpressureConfig config = BackpressureConfig.builder()
+                .strategy(OverflowStrategy.RATE_LIMIT)
+                .highTide(8)
+                .lowTide(6)
+                .build();
+        List<Long> requests = new ArrayList<>();
+
+        // When
+        Flux<Integer> flux = Flux.range(1, 20)
+                .doOnRequest(requests::add)
+                .transform(guard.transform("rateLimit", config));
+
+        // Then
+        StepVerifier.create(flux)
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertThat(requests)
+                .startsWith(8L, 6L)
+                .allMatch(request -> request <= 8);
+    }
+
+    private static void emitRange(Sinks.Many<Integer> source, int count) {
+        for (int i = 1; i <= count; ++i) {
+            source.tryEmitNext(i);
+        }
+
+        source.tryEmitComplete();
+    }
+}
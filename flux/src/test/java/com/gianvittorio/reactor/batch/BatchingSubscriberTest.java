@@ -0,0 +1,158 @@
+package com.gianvittorio.reactor.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchingSubscriberTest {
+
+    @Test
+    @DisplayName("Must request in chunks and flush full batches plus the remainder on completion.")
+    public void sizeFlushTest() {
+        // Given
+        BatchingConfig config = BatchingConfig.builder()
+                .batchSize(4)
+                .requestSize(8)
+                .build();
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        BatchingSubscriber<Integer> subscriber = new BatchingSubscriber<>("batch-size-test", batch -> {
+            batches.add(new ArrayList<>(batch));
+
+            return Mono.empty();
+        }, config);
+
+        // When
+        Flux.range(1, 10)
+                .doOnRequest(requests::add)
+                .subscribe(subscriber);
+
+        // Then
+        StepVerifier.create(subscriber.completion())
+                .verifyComplete();
+
+        assertThat(batches)
+                .containsExactly(List.of(1, 2, 3, 4), List.of(5, 6, 7, 8), List.of(9, 10));
+        assertThat(requests)
+                .containsOnly(8L);
+        assertThat(subscriber.pendingCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must flush a partial batch once the flush interval elapses.")
+    public void timeFlushTest() {
+        // Given
+        BatchingConfig config = BatchingConfig.builder()
+                .batchSize(100)
+                .flushInterval(Duration.ofMillis(100))
+                .build();
+        Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        BatchingSubscriber<Integer> subscriber = new BatchingSubscriber<>("batch-time-test", batch -> {
+            batches.add(new ArrayList<>(batch));
+
+            return Mono.empty();
+        }, config);
+
+        // When
+        source.asFlux()
+                .subscribe(subscriber);
+        source.tryEmitNext(1);
+        source.tryEmitNext(2);
+
+        // Then
+        StepVerifier.create(subscriber.completion())
+                .expectSubscription()
+                .then(() -> assertThat(batches).isEmpty())
+                .thenAwait(Duration.ofMillis(300))
+                .then(() -> assertThat(batches).containsExactly(List.of(1, 2)))
+                .then(source::tryEmitComplete)
+                .verifyComplete();
+
+        assertThat(batches)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Must keep at most maxInFlightFlushes flushes running and stop requesting while batches wait.")
+    public void maxInFlightTest() {
+        // Given
+        BatchingConfig config = BatchingConfig.builder()
+                .batchSize(2)
+                .requestSize(2)
+                .maxInFlightFlushes(1)
+                .build();
+        List<Sinks.Empty<Void>> flushes = new CopyOnWriteArrayList<>();
+        AtomicInteger received = new AtomicInteger();
+        BatchingSubscriber<Integer> subscriber = new BatchingSubscriber<>("batch-in-flight-test", batch -> {
+            Sinks.Empty<Void> flush = Sinks.empty();
+            flushes.add(flush);
+
+            return flush.asMono();
+        }, config);
+
+        // When
+        Flux.range(1, 10)
+                .doOnNext(value -> received.incrementAndGet())
+                .subscribe(subscriber);
+
+        // Then
+        assertThat(flushes)
+                .hasSize(1);
+        assertThat(subscriber.inFlightCount())
+                .isEqualTo(1);
+        assertThat(received)
+                .hasValue(4);
+
+        while (flushes.size() < 5) {
+            flushes.get(flushes.size() - 1).tryEmitEmpty();
+        }
+        flushes.get(4).tryEmitEmpty();
+
+        StepVerifier.create(subscriber.completion())
+                .verifyComplete();
+
+        assertThat(received)
+                .hasValue(10);
+    }
+
+    @Test
+    @DisplayName("Must cancel upstream and fail completion when a flush fails.")
+    public void flushErrorTest() {
+        // Given
+        BatchingConfig config = BatchingConfig.builder()
+                .batchSize(2)
+                .build();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        BatchingSubscriber<Integer> subscriber = new BatchingSubscriber<>("batch-error-test",
+                batch -> Mono.error(new IllegalStateException("Warehouse unavailable")), config);
+
+        // When
+        Flux.range(1, 10)
+                .doOnCancel(() -> cancelled.set(true))
+                .subscribe(subscriber);
+
+        // Then
+        StepVerifier.create(subscriber.completion())
+                .expectErrorMessage("Warehouse unavailable")
+                .verify();
+
+        assertThat(cancelled)
+                .isTrue();
+        assertThat(subscriber.pendingCount())
+                .isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package com.gianvittorio.reactor.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Must load a key once and serve repeated reads from the cache.")
+    public void getTest() {
+        // Given
+        ReactiveCache<Long, String> cache = new ReactiveCache<>(
+                key -> Mono.fromCallable(() -> {
+                    loads.incrementAndGet();
+
+                    return "value-" + key;
+                }),
+                ReactiveCacheConfig.defaults()
+        );
+
+        // When
+        Mono<String> first = cache.get(1l);
+        Mono<String> second = cache.get(1l);
+
+        // Then
+        StepVerifier.create(first.log())
+                .expectNext("value-1")
+                .verifyComplete();
+        StepVerifier.create(second.log())
+                .expectNext("value-1")
+                .verifyComplete();
+
+        assertThat(loads.get())
+                .isEqualTo(1);
+        assertThat(cache.stats().hitCount())
+                .isEqualTo(1);
+        assertThat(cache.stats().missCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must cache empty results.")
+    public void getEmptyTest() {
+        // Given
+        ReactiveCache<Long, String> cache = new ReactiveCache<>(
+                key -> Mono.fromRunnable(loads::incrementAndGet),
+                ReactiveCacheConfig.builder().negativeExpireAfterWrite(Duration.ofMinutes(1)).build()
+        );
+
+        // When
+        Mono<String> first = cache.get(1l);
+        Mono<String> second = cache.get(1l);
+
+        // Then
+        StepVerifier.create(first.log())
+                .verifyComplete();
+        StepVerifier.create(second.log())
+                .verifyComplete();
+
+        assertThat(loads.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must not cache failed loads.")
+    public void getErrorTest() {
+        // Given
+        final String errorMessage = "Exception occurred in loader";
+        ReactiveCache<Long, String> cache = new ReactiveCache<>(
+                key -> Mono.error(new RuntimeException(errorMessage + " " + loads.incrementAndGet())),
+                ReactiveCacheConfig.defaults()
+        );
+
+        // When
+        Mono<String> first = cache.get(1l);
+        Mono<String> second = cache.get(1l);
+
+        // Then
+        StepVerifier.create(first.log())
+                .expectErrorMessage(errorMessage + " 1")
+                .verify();
+        StepVerifier.create(second.log())
+                .expectErrorMessage(errorMessage + " 2")
+                .verify();
+    }
+}
@@ -0,0 +1,70 @@
+package com.gianvittorio.reactor.client;
+
+import com.gianvittorio.reactor.domain.MovieInfo;
+import com.gianvittorio.reactor.service.MovieInfoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebClientFactoryTest {
+
+    private DisposableServer server;
+
+    private WebClientFactory webClientFactory;
+
+    @BeforeEach
+    public void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get(
+                        "/movies/v1/movie_infos/{id}",
+                        (request, response) -> response.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"movieInfoId\":" + request.param("id") + ",\"name\":\"Batman Begins\",\"year\":2005}"))
+                ))
+                .bindNow();
+
+        webClientFactory = new WebClientFactory(
+                HttpClientConfig.builder()
+                        .maxConnections(2)
+                        .connectTimeout(Duration.ofMillis(500))
+                        .build()
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        webClientFactory.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Must serve REST lookups through the pooled client.")
+    public void createWebClientTest() {
+        // Given
+        MovieInfoService movieInfoService = new MovieInfoService(
+                webClientFactory.createWebClient("http://localhost:" + server.port() + "/movies")
+        );
+
+        // When
+        Mono<MovieInfo> movieInfoMono = movieInfoService.retrieveAllMovieInfoByIdRestClient(1l);
+
+        // Then
+        StepVerifier.create(movieInfoMono.log())
+                .assertNext(movieInfo -> {
+                    assertThat(movieInfo.getMovieInfoId())
+                            .isEqualTo(1l);
+                    assertThat(movieInfo.getName())
+                            .isEqualTo("Batman Begins");
+                })
+                .verifyComplete();
+    }
+}
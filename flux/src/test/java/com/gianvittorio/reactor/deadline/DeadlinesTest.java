@@ -0,0 +1,150 @@
+package com.gianvittorio.reactor.deadline;
+
+import com.gianvittorio.reactor.exception.DeadlineExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlinesTest {
+
+    @Test
+    @DisplayName("Must cancel the inner call and fail once the deadline passes.")
+    public void withinMonoTest() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> slowCall = Mono.<String>never()
+                .doOnCancel(() -> cancelled.set(true));
+
+        // When
+        Mono<String> bounded = slowCall.transform(Deadlines.enforceMono())
+                .transform(Deadlines.withinMono(Duration.ofMillis(50)));
+
+        // Then
+        StepVerifier.create(bounded.log())
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(cancelled.get())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Must fire the deadline on the given timer scheduler.")
+    public void withinMonoTimerTest() {
+        // Given
+        Scheduler timer = Schedulers.newSingle("deadline-timer");
+        AtomicReference<String> timedOutOn = new AtomicReference<>();
+
+        // When
+        Mono<String> bounded = Mono.<String>never()
+                .transform(Deadlines.withinMono(Duration.ofMillis(50), timer))
+                .doOnError(ex -> timedOutOn.set(Thread.currentThread().getName()));
+
+        // Then
+        StepVerifier.create(bounded.log())
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(timedOutOn.get())
+                .startsWith("deadline-timer");
+
+        timer.dispose();
+    }
+
+    @Test
+    @DisplayName("Must bound the whole stream, not the gap between elements.")
+    public void withinFluxTest() {
+        // Given
+        Flux<Long> slowStream = Flux.interval(Duration.ofMillis(50))
+                .take(20);
+
+        // When
+        Flux<Long> bounded = slowStream.transform(Deadlines.withinFlux(Duration.ofMillis(200)));
+
+        // Then
+        Duration elapsed = StepVerifier.create(bounded.log())
+                .thenConsumeWhile(tick -> true)
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(elapsed)
+                .isLessThan(Duration.ofMillis(800));
+    }
+
+    @Test
+    @DisplayName("Must not start work whose deadline has already passed.")
+    public void enforceMonoExpiredTest() {
+        // Given
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> "revenue-" + subscriptions.incrementAndGet());
+
+        // When
+        Mono<String> bounded = call.transform(Deadlines.enforceMono())
+                .contextWrite(context -> context.put(Deadlines.CONTEXT_KEY, Deadline.after(Duration.ZERO)));
+
+        // Then
+        StepVerifier.create(bounded.log())
+                .expectError(DeadlineExceededException.class)
+                .verify();
+
+        assertThat(subscriptions.get())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must keep the tighter deadline when an inner call sets a looser one.")
+    public void withinMonoNestedTest() {
+        // Given
+        Mono<String> slowCall = Mono.never();
+
+        // When
+        Mono<String> bounded = slowCall.transform(Deadlines.withinMono(Duration.ofSeconds(10)))
+                .transform(Deadlines.withinMono(Duration.ofMillis(50)));
+
+        // Then
+        StepVerifier.create(bounded.log())
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Must forward the remaining time to the backend as a request header.")
+    public void propagatingFilterTest() {
+        // Given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/v1/reviews")).build();
+
+        // When
+        Mono<ClientResponse> response = Deadlines.propagatingFilter()
+                .filter(request, exchanged -> {
+                    sent.set(exchanged);
+
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .transform(Deadlines.withinMono(Duration.ofSeconds(5)));
+
+        // Then
+        StepVerifier.create(response)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(Long.parseLong(sent.get().headers().getFirst(Deadlines.HEADER)))
+                .isBetween(1l, 5_000l);
+    }
+}
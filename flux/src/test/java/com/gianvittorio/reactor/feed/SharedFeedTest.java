@@ -0,0 +1,176 @@
+package com.gianvittorio.reactor.feed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedFeedTest {
+
+    @Test
+    @DisplayName("Must connect upstream once for concurrent subscribers and replay earlier elements to late ones.")
+    public void sharedTest() {
+        // Given
+        Sinks.Many<Integer> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        SharedFeed<Integer> feed = new SharedFeed<>("feed-shared-test", upstream.asFlux(), SharedFeedConfig.defaults());
+
+        // When
+        StepVerifier.Step<Integer> first = StepVerifier.create(feed.flux())
+                .then(() -> upstream.tryEmitNext(1))
+                .expectNext(1);
+
+        // Then
+        first.then(() -> {
+                    StepVerifier.create(feed.flux())
+                            .expectNext(1)
+                            .then(() -> {
+                                upstream.tryEmitNext(2);
+                                upstream.tryEmitComplete();
+                            })
+                            .expectNext(2)
+                            .verifyComplete();
+                })
+                .expectNext(2)
+                .verifyComplete();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(1);
+        assertThat(feed.subscriberCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must serve a completed feed from replay until its TTL expires and then reconnect.")
+    public void replayTtlTest() throws InterruptedException {
+        // Given
+        SharedFeedConfig config = SharedFeedConfig.builder()
+                .replayTtl(Duration.ofMillis(200))
+                .build();
+        SharedFeed<Integer> feed = new SharedFeed<>("feed-ttl-test", Flux.range(0, 3), config);
+
+        // When
+        StepVerifier.create(feed.flux())
+                .expectNext(0, 1, 2)
+                .verifyComplete();
+        StepVerifier.create(feed.flux())
+                .expectNext(0, 1, 2)
+                .verifyComplete();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(1);
+
+        Thread.sleep(300);
+
+        // Then
+        StepVerifier.create(feed.flux())
+                .expectNext(0, 1, 2)
+                .verifyComplete();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Must give late subscribers a full run of their own once the replay window no longer holds the start.")
+    public void replayWindowExceededTest() {
+        // Given
+        SharedFeedConfig config = SharedFeedConfig.builder()
+                .replaySize(2)
+                .build();
+        SharedFeed<Integer> feed = new SharedFeed<>("feed-window-test", Flux.range(0, 5), config);
+
+        // When
+        StepVerifier.create(feed.flux())
+                .expectNext(0, 1, 2, 3, 4)
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(feed.flux())
+                .expectNext(0, 1, 2, 3, 4)
+                .verifyComplete();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(2);
+        assertThat(feed.subscriberCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must make late subscribers wait for the running feed to end instead of restarting the upstream.")
+    public void replayWindowExceededWhileRunningTest() {
+        // Given
+        SharedFeedConfig config = SharedFeedConfig.builder()
+                .replaySize(2)
+                .build();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Flux<Long> source = Flux.interval(Duration.ofMillis(20))
+                .take(6)
+                .doOnSubscribe(subscription -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .doOnTerminate(running::decrementAndGet);
+        SharedFeed<Long> feed = new SharedFeed<>("feed-late-test", source, config);
+        Mono<List<Long>> late = feed.flux()
+                .collectList()
+                .cache();
+
+        // When
+        StepVerifier.create(feed.flux())
+                .expectNextCount(4)
+                .then(late::subscribe)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(late)
+                .assertNext(values -> assertThat(values).containsExactly(0L, 1L, 2L, 3L, 4L, 5L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(2);
+        assertThat(maxRunning.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must keep the upstream connected during the grace period after the last subscriber leaves.")
+    public void gracePeriodTest() throws InterruptedException {
+        // Given
+        SharedFeedConfig config = SharedFeedConfig.builder()
+                .gracePeriod(Duration.ofMillis(300))
+                .build();
+        SharedFeed<Long> feed = new SharedFeed<>("feed-grace-test", Flux.interval(Duration.ofMillis(10)), config);
+
+        // When
+        StepVerifier.create(feed.flux())
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+        StepVerifier.create(feed.flux())
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(1);
+
+        Thread.sleep(500);
+
+        // Then
+        StepVerifier.create(feed.flux())
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+
+        assertThat(feed.connectionCount())
+                .isEqualTo(2);
+    }
+}
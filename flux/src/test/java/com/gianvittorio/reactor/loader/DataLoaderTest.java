@@ -0,0 +1,133 @@
+package com.gianvittorio.reactor.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataLoaderTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private DataLoader<Integer, String> dataLoader;
+
+    @AfterEach
+    public void tearDown() {
+        dataLoader.dispose();
+    }
+
+    @Test
+    @DisplayName("Must batch distinct keys and coalesce duplicated ones.")
+    public void loadTest() {
+        // Given
+        dataLoader = new DataLoader<>(this::loadBatch, 10, Duration.ofMillis(50));
+
+        // When
+        Flux<String> values = Flux.just(1, 2, 1, 3, 2)
+                .flatMap(dataLoader::load);
+
+        // Then
+        StepVerifier.create(values.log())
+                .expectNextCount(5)
+                .verifyComplete();
+
+        assertThat(batches)
+                .containsExactly(List.of(1, 2, 3));
+        assertThat(dataLoader.inFlightCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must complete empty when the batch has no value for a key.")
+    public void loadMissingKeyTest() {
+        // Given
+        dataLoader = new DataLoader<>(keys -> loadBatch(keys).map(values -> Map.of()), 10, Duration.ofMillis(10));
+
+        // When
+        Mono<String> value = dataLoader.load(1);
+
+        // Then
+        StepVerifier.create(value.log())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must propagate the batch error to every key of the batch.")
+    public void loadErrorTest() {
+        // Given
+        final String errorMessage = "Exception occurred in batch loader";
+        dataLoader = new DataLoader<>(keys -> Mono.error(new RuntimeException(errorMessage)), 10, Duration.ofMillis(10));
+
+        // When
+        Flux<String> values = Flux.just(1, 2)
+                .flatMap(dataLoader::load);
+
+        // Then
+        StepVerifier.create(values.log())
+                .expectErrorMessage(errorMessage)
+                .verify();
+
+        assertThat(dataLoader.inFlightCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must queue closed batches instead of overflowing while every dispatch slot is busy.")
+    public void loadSlowBatchesTest() {
+        // Given
+        dataLoader = new DataLoader<>(keys -> loadBatch(keys).delayElement(Duration.ofMillis(100)), 2, Duration.ofMillis(10), 1);
+
+        // When
+        Flux<String> values = Flux.range(1, 10)
+                .delayElements(Duration.ofMillis(15))
+                .flatMap(dataLoader::load);
+
+        // Then
+        StepVerifier.create(values.log())
+                .expectNextCount(10)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(batches.stream().mapToInt(List::size).sum())
+                .isEqualTo(10);
+        assertThat(dataLoader.inFlightCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must fail the pending loads when the queue of closed batches is full.")
+    public void loadQueueFullTest() {
+        // Given
+        dataLoader = new DataLoader<>(keys -> loadBatch(keys).delayElement(Duration.ofMillis(200)), 1, Duration.ofMillis(1), 1, 1);
+
+        // When
+        Flux<String> values = Flux.range(1, 10)
+                .flatMap(dataLoader::load);
+
+        // Then
+        StepVerifier.create(values.log())
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private Mono<Map<Integer, String>> loadBatch(List<Integer> keys) {
+        batches.add(keys);
+
+        return Mono.just(
+                keys.stream()
+                        .collect(Collectors.toMap(Function.identity(), String::valueOf))
+        );
+    }
+}
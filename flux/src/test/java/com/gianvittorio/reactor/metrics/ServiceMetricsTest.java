@@ -0,0 +1,105 @@
+package com.gianvittorio.reactor.metrics;
+
+import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.service.MovieInfoService;
+import com.gianvittorio.reactor.service.MovieReactiveService;
+import com.gianvittorio.reactor.service.ReactiveRevenueService;
+import com.gianvittorio.reactor.service.RevenueService;
+import com.gianvittorio.reactor.service.ReviewService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServiceMetricsTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MovieReactiveService movieReactiveService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ServiceMetrics.useRegistry(meterRegistry);
+
+        movieReactiveService = new MovieReactiveService(new MovieInfoService(), new ReviewService());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ServiceMetrics.useRegistry(Metrics.globalRegistry);
+    }
+
+    @Test
+    @DisplayName("Must record every leg of the movie aggregation in the configured registry.")
+    public void getAllMoviesMetricsTest() {
+        // Given
+
+        // When
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMovies();
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        Timer movieTimer = meterRegistry.find(ServiceMetrics.METER_NAME + ".flow.duration")
+                .tag(ServiceMetrics.SERVICE_TAG, "movie")
+                .tag(ServiceMetrics.METHOD_TAG, "getAllMovies")
+                .tag("status", "completed")
+                .timer();
+        Timer reviewTimer = meterRegistry.find(ServiceMetrics.METER_NAME + ".flow.duration")
+                .tag(ServiceMetrics.SERVICE_TAG, "review")
+                .tag(ServiceMetrics.METHOD_TAG, "retrieveReviewsFlux")
+                .timer();
+
+        assertThat(movieTimer)
+                .isNotNull();
+        assertThat(movieTimer.count())
+                .isEqualTo(1);
+        assertThat(reviewTimer.count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.find(ServiceMetrics.METER_NAME + ".subscribed").counters())
+                .isNotEmpty();
+        assertThat(meterRegistry.find(ServiceMetrics.METER_NAME + ".requested").summaries())
+                .isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Must tag gauges by component name and remove them when the component is disposed.")
+    public void disposeGaugesTest() {
+        // Given
+        ReactiveRevenueService first = new ReactiveRevenueService(new RevenueService(), 1, 1);
+
+        // When
+        first.dispose();
+        movieReactiveService.dispose();
+
+        // Then
+        assertThat(meterRegistry.find("movies.revenue.inFlight").gauges())
+                .isEmpty();
+        assertThat(meterRegistry.find("movies.ordered.buffered").gauges())
+                .isEmpty();
+        assertThat(meterRegistry.find("movies.feed.subscribers").gauges())
+                .isEmpty();
+        assertThat(meterRegistry.find("movies.backpressure.buffered").gauges())
+                .isEmpty();
+
+        ReactiveRevenueService second = new ReactiveRevenueService(new RevenueService(), 1, 1);
+
+        try {
+            assertThat(meterRegistry.find("movies.revenue.inFlight").tag("name", "revenue").gauges())
+                    .hasSize(1);
+        } finally {
+            second.dispose();
+        }
+    }
+}
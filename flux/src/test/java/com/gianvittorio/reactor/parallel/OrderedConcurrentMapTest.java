@@ -0,0 +1,89 @@
+package com.gianvittorio.reactor.parallel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderedConcurrentMapTest {
+
+    @Test
+    @DisplayName("Must emit in source order while never buffering more than the configured window behind a slow head.")
+    public void orderedTest() {
+        // Given
+        OrderedConcurrentMap orderedMap = new OrderedConcurrentMap("ordered-test");
+        OrderedMapConfig config = OrderedMapConfig.builder()
+                .concurrency(8)
+                .maxBuffered(3)
+                .build();
+
+        // When
+        Flux<Integer> flux = Flux.range(0, 10)
+                .transform(orderedMap.transform(i -> Mono.just(i)
+                        .delayElement(Duration.ofMillis(i % 3 == 0 ? 50 : 5)), config));
+
+        // Then
+        StepVerifier.create(flux)
+                .expectNext(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+                .verifyComplete();
+
+        assertThat(orderedMap.peakBufferedCount())
+                .isPositive()
+                .isLessThan(3);
+        assertThat(orderedMap.blockedCount())
+                .isPositive();
+        assertThat(orderedMap.bufferedCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must skip elements that exceed the element timeout without breaking order.")
+    public void skipOnTimeoutTest() {
+        // Given
+        OrderedConcurrentMap orderedMap = new OrderedConcurrentMap("ordered-skip-test");
+        OrderedMapConfig config = OrderedMapConfig.builder()
+                .concurrency(4)
+                .maxBuffered(4)
+                .elementTimeout(Duration.ofMillis(100))
+                .skipOnTimeout(true)
+                .build();
+
+        // When
+        Flux<String> flux = Flux.just("alex", "ben", "chloe")
+                .transform(orderedMap.transform(name -> "ben".equals(name) ? Mono.never() : Mono.just(name.toUpperCase()), config));
+
+        // Then
+        StepVerifier.create(flux)
+                .expectNext("ALEX", "CHLOE")
+                .verifyComplete();
+
+        assertThat(orderedMap.timeoutCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must fail with TimeoutException when an element exceeds the element timeout.")
+    public void timeoutTest() {
+        // Given
+        OrderedConcurrentMap orderedMap = new OrderedConcurrentMap("ordered-timeout-test");
+        OrderedMapConfig config = OrderedMapConfig.builder()
+                .elementTimeout(Duration.ofMillis(100))
+                .build();
+
+        // When
+        Flux<String> flux = Flux.just("alex", "ben", "chloe")
+                .transform(orderedMap.transform(name -> "ben".equals(name) ? Mono.never() : Mono.just(name.toUpperCase()), config));
+
+        // Then
+        StepVerifier.create(flux)
+                .expectNext("ALEX")
+                .expectError(TimeoutException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,100 @@
+package com.gianvittorio.reactor.parallel;
+
+import com.gianvittorio.reactor.util.CommonUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelTransformerTest {
+
+    @Test
+    @DisplayName("Must preserve source order across batches when ordered merge is requested.")
+    public void orderedTest() {
+        // Given
+        ParallelTransformConfig config = ParallelTransformConfig.builder()
+                .rails(4)
+                .batchSize(3)
+                .ordered(true)
+                .strategy(ParallelStrategy.PARALLEL)
+                .build();
+        ParallelTransformer<Integer, Integer> transformer = new ParallelTransformer<>(i -> i * 2, config, Schedulers.parallel());
+        List<Integer> expected = IntStream.range(0, 100)
+                .map(i -> i * 2)
+                .boxed()
+                .collect(Collectors.toList());
+
+        // When
+        Flux<Integer> flux = Flux.range(0, 100)
+                .transform(transformer);
+
+        // Then
+        StepVerifier.create(flux.collectList())
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must preserve source order when offloading batches through flatMap.")
+    public void orderedFlatMapTest() {
+        // Given
+        ParallelTransformConfig config = ParallelTransformConfig.builder()
+                .rails(4)
+                .batchSize(2)
+                .ordered(true)
+                .strategy(ParallelStrategy.FLAT_MAP)
+                .build();
+        ParallelTransformer<String, String> transformer = new ParallelTransformer<>(String::toUpperCase, config, Schedulers.parallel());
+
+        // When
+        Flux<String> flux = Flux.just("alex", "ben", "chloe", "adam", "jill")
+                .transform(transformer);
+
+        // Then
+        StepVerifier.create(flux)
+                .expectNext("ALEX", "BEN", "CHLOE", "ADAM", "JILL")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must switch to flatMap once the measured per-element cost crosses the threshold.")
+    public void resolveStrategyTest() {
+        // Given
+        ParallelTransformConfig config = ParallelTransformConfig.defaults();
+        ParallelTransformer<Integer, Integer> cheap = new ParallelTransformer<>(i -> i + 1, config, Schedulers.parallel());
+        ParallelTransformer<Integer, Integer> expensive = new ParallelTransformer<>(i -> {
+            CommonUtil.delay(5);
+
+            return i + 1;
+        }, config, Schedulers.parallel());
+
+        assertThat(expensive.resolveStrategy())
+                .isEqualTo(ParallelStrategy.PARALLEL);
+
+        // When
+        Flux<Integer> cheapFlux = Flux.range(0, 10)
+                .transform(cheap);
+        Flux<Integer> expensiveFlux = Flux.range(0, 4)
+                .transform(expensive);
+
+        // Then
+        StepVerifier.create(cheapFlux)
+                .expectNextCount(10)
+                .verifyComplete();
+        StepVerifier.create(expensiveFlux)
+                .expectNextCount(4)
+                .verifyComplete();
+
+        assertThat(cheap.resolveStrategy())
+                .isEqualTo(ParallelStrategy.PARALLEL);
+        assertThat(expensive.resolveStrategy())
+                .isEqualTo(ParallelStrategy.FLAT_MAP);
+    }
+}
@@ -0,0 +1,110 @@
+package com.gianvittorio.reactor.repeat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepeatSchedulerTest {
+
+    @Test
+    @DisplayName("Must wait the fixed interval between passes and stop after maxRepeats.")
+    public void fixedIntervalTest() {
+        // Given
+        RepeatPolicy policy = RepeatPolicy.builder()
+                .interval(Duration.ofMillis(100))
+                .adaptive(false)
+                .maxRepeats(2)
+                .build();
+
+        // When
+        // Then
+        StepVerifier.withVirtualTime(() -> Flux.just(1)
+                        .transform(new RepeatScheduler("repeat-fixed-test", policy, Schedulers.parallel()).transform()))
+                .expectSubscription()
+                .expectNext(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must back off while passes are unchanged and snap back once a change is observed.")
+    public void adaptiveIntervalTest() {
+        // Given
+        RepeatPolicy policy = RepeatPolicy.builder()
+                .interval(Duration.ofMillis(100))
+                .maxInterval(Duration.ofMillis(300))
+                .maxRepeats(4)
+                .build();
+        AtomicInteger passes = new AtomicInteger();
+
+        // When
+        // Then
+        StepVerifier.withVirtualTime(() -> Flux.defer(() -> Flux.just(passes.incrementAndGet() < 4 ? 0 : 1))
+                        .transform(new RepeatScheduler("repeat-adaptive-test", policy, Schedulers.parallel()).transform()))
+                .expectSubscription()
+                .expectNext(0)
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext(0)
+                .expectNoEvent(Duration.ofMillis(200))
+                .expectNext(0)
+                .expectNoEvent(Duration.ofMillis(300))
+                .expectNext(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must not start another pass until the subscriber requests more.")
+    public void pauseOnBackpressureTest() {
+        // Given
+        RepeatPolicy policy = RepeatPolicy.builder()
+                .interval(Duration.ofMillis(10))
+                .adaptive(false)
+                .build();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        // When
+        // Then
+        StepVerifier.withVirtualTime(() -> Flux.defer(() -> Flux.just(subscriptions.incrementAndGet()))
+                        .transform(new RepeatScheduler("repeat-pause-test", policy, Schedulers.parallel()).transform()), 1)
+                .expectSubscription()
+                .expectNext(1)
+                .thenAwait(Duration.ofSeconds(1))
+                .then(() -> assertThat(subscriptions).hasValue(1))
+                .thenRequest(1)
+                .thenAwait(Duration.ofMillis(10))
+                .expectNext(2)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Must delay the first pass by at most the configured start jitter.")
+    public void startJitterTest() {
+        // Given
+        RepeatPolicy policy = RepeatPolicy.builder()
+                .startJitter(Duration.ofSeconds(1))
+                .maxRepeats(0)
+                .build();
+
+        // When
+        // Then
+        StepVerifier.withVirtualTime(() -> Flux.just(1)
+                        .transform(new RepeatScheduler("repeat-jitter-test", policy, Schedulers.parallel()).transform()))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(1)
+                .verifyComplete();
+    }
+}
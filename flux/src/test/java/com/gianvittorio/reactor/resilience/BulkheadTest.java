@@ -0,0 +1,48 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.exception.BulkheadFullException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadTest {
+
+    @Test
+    @DisplayName("Must reject calls beyond the concurrency limit and admit them again once a slot frees up.")
+    public void transformMonoTest() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("test", 1);
+        Sinks.One<String> pending = Sinks.one();
+
+        // When
+        Mono<String> first = pending.asMono().transform(bulkhead.transformMono());
+        Mono<String> second = Mono.just("second").transform(bulkhead.transformMono());
+
+        // Then
+        StepVerifier.create(first)
+                .then(() -> {
+                    assertThat(bulkhead.inFlightCount()).isEqualTo(1);
+
+                    StepVerifier.create(second)
+                            .expectError(BulkheadFullException.class)
+                            .verify();
+
+                    pending.tryEmitValue("first");
+                })
+                .expectNext("first")
+                .verifyComplete();
+
+        StepVerifier.create(second)
+                .expectNext("second")
+                .verifyComplete();
+
+        assertThat(bulkhead.inFlightCount())
+                .isZero();
+        assertThat(bulkhead.rejectedCount())
+                .isEqualTo(1);
+    }
+}
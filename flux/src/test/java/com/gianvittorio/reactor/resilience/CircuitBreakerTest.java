@@ -0,0 +1,143 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.exception.CallNotPermittedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50.)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .permittedCallsInHalfOpenState(2)
+                .build();
+
+        circuitBreaker = new CircuitBreaker("test", config, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("Must open once the failure rate over the sliding window reaches the threshold, then fail fast.")
+    public void openTest() {
+        // Given
+
+        // When
+        call(true);
+        call(false);
+        call(true);
+        call(false);
+
+        // Then
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+
+        StepVerifier.create(guarded(true))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertThat(subscriptions.get())
+                .isEqualTo(4);
+        assertThat(circuitBreaker.notPermittedCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must stay closed while the window holds fewer calls than the minimum.")
+    public void minimumNumberOfCallsTest() {
+        // Given
+
+        // When
+        call(false);
+        call(false);
+        call(false);
+
+        // Then
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Must close again after the half-open trial calls succeed.")
+    public void halfOpenCloseTest() {
+        // Given
+        open();
+
+        // When
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+        call(true);
+
+        // Then
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Must open again when the half-open trial calls fail.")
+    public void halfOpenReopenTest() {
+        // Given
+        open();
+
+        // When
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+        call(false);
+        call(false);
+
+        // Then
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean success) {
+        if (success) {
+            StepVerifier.create(guarded(true))
+                    .expectNext("review")
+                    .verifyComplete();
+        } else {
+            StepVerifier.create(guarded(false))
+                    .expectErrorMessage("Reviews down")
+                    .verify();
+        }
+    }
+
+    private Flux<String> guarded(boolean success) {
+        Flux<String> call = Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+
+            return success ? Flux.just("review") : Flux.error(new RuntimeException("Reviews down"));
+        });
+
+        return call.transform(circuitBreaker.transformFlux());
+    }
+}
@@ -0,0 +1,100 @@
+package com.gianvittorio.reactor.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgerTest {
+
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    private final AtomicInteger cancellations = new AtomicInteger();
+
+    @Test
+    @DisplayName("Must answer with the hedge when the primary call is slow, and cancel the primary.")
+    public void transformMonoHedgeWinsTest() {
+        // Given
+        Hedger hedger = new Hedger("test", HedgeConfig.builder().delay(Duration.ofMillis(20)).build());
+
+        // When
+        Mono<String> hedged = slowFirstCall().transform(hedger.transformMono());
+
+        // Then
+        StepVerifier.create(hedged.log())
+                .expectNext("attempt-2")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(subscriptions.get())
+                .isEqualTo(2);
+        assertThat(cancellations.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must not hedge once the hedge budget is spent.")
+    public void transformMonoBudgetExhaustedTest() {
+        // Given
+        HedgeConfig config = HedgeConfig.builder()
+                .delay(Duration.ofMillis(10))
+                .maxHedgeBurst(1)
+                .maxHedgeRatio(0)
+                .build();
+        Hedger hedger = new Hedger("test", config);
+        Mono<String> slowCall = Mono.defer(() -> Mono.just("attempt-" + subscriptions.incrementAndGet()).delayElement(Duration.ofMillis(50)));
+
+        // When
+        Mono<String> hedged = slowCall.transform(hedger.transformMono());
+
+        // Then
+        StepVerifier.create(hedged)
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(hedged)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(subscriptions.get())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Must derive the hedge delay from the observed latency percentile.")
+    public void hedgeDelayPercentileTest() {
+        // Given
+        HedgeConfig config = HedgeConfig.builder()
+                .delay(Duration.ofSeconds(1))
+                .delayPercentile(.95)
+                .minDelay(Duration.ofMillis(1))
+                .build();
+        Hedger hedger = new Hedger("test", config);
+
+        // When
+        for (int i = 0; i < 32; i++) {
+            StepVerifier.create(Mono.just("fast").transform(hedger.transformMono()))
+                    .expectNext("fast")
+                    .verifyComplete();
+        }
+
+        // Then
+        assertThat(hedger.hedgeDelay())
+                .isLessThan(Duration.ofSeconds(1));
+    }
+
+    private Mono<String> slowFirstCall() {
+        return Mono.defer(() -> {
+            int attempt = subscriptions.incrementAndGet();
+            Duration latency = attempt == 1 ? Duration.ofSeconds(5) : Duration.ZERO;
+
+            return Mono.just("attempt-" + attempt)
+                    .delayElement(latency)
+                    .doOnCancel(cancellations::incrementAndGet);
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.gianvittorio.reactor.resilience;
+
+import com.gianvittorio.reactor.exception.BulkheadFullException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RemoteCallPolicyTest {
+
+    @Test
+    @DisplayName("Must reject calls in the bulkhead without counting them as circuit breaker failures.")
+    public void transformMonoTest() {
+        // Given
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                "policy",
+                CircuitBreakerConfig.builder()
+                        .slidingWindowSize(1)
+                        .minimumNumberOfCalls(1)
+                        .build()
+        );
+        Bulkhead bulkhead = new Bulkhead("policy", 1);
+        RemoteCallPolicy policy = new RemoteCallPolicy(circuitBreaker, bulkhead, Hedger.disabled());
+        Sinks.One<String> pending = Sinks.one();
+
+        // When
+        Mono<String> first = pending.asMono().transform(policy.transformMono("policy", "first"));
+        Mono<String> second = Mono.just("second").transform(policy.transformMono("policy", "second"));
+
+        // Then
+        StepVerifier.create(first)
+                .then(() -> {
+                    StepVerifier.create(second)
+                            .expectError(BulkheadFullException.class)
+                            .verify();
+
+                    pending.tryEmitValue("first");
+                })
+                .expectNext("first")
+                .verifyComplete();
+
+        assertThat(circuitBreaker.getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.failureRate())
+                .isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package com.gianvittorio.reactor.retry;
+
+import com.gianvittorio.reactor.exception.NetworkException;
+import com.gianvittorio.reactor.exception.ServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryPoliciesTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final RetryPolicies retryPolicies = RetryPolicies.none()
+            .with(NetworkException.class, RetryPolicy.builder().maxRetries(3).minBackoff(Duration.ofMillis(10)).build())
+            .with(ServiceException.class, RetryPolicy.noRetry());
+
+    @Test
+    @DisplayName("Must retry according to the policy of the failure type, then give the failure back.")
+    public void toRetryExhaustedTest() {
+        // Given
+        Mono<String> failing = failWith(() -> new NetworkException("Network down"));
+
+        // When
+        Mono<String> retried = failing.retryWhen(retryPolicies.toRetry("test", RetryBudget.defaults()));
+
+        // Then
+        StepVerifier.create(retried.log())
+                .expectErrorMessage("Network down")
+                .verify();
+
+        assertThat(attempts.get())
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Must cap retries across the whole subscription even when elements arrive between failures.")
+    public void toRetryExhaustedAfterElementsTest() {
+        // Given
+        Flux<String> failing = Flux.defer(() -> {
+            attempts.incrementAndGet();
+
+            return Flux.just("movie")
+                    .concatWith(Flux.error(new NetworkException("Network down")));
+        });
+
+        // When
+        Flux<String> retried = failing.retryWhen(retryPolicies.toRetry("test", RetryBudget.defaults()));
+
+        // Then
+        StepVerifier.create(retried.log())
+                .expectNext("movie", "movie", "movie", "movie")
+                .expectErrorMessage("Network down")
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get())
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Must not retry failures whose policy forbids it.")
+    public void toRetryNotRetryableTest() {
+        // Given
+        Mono<String> failing = failWith(() -> new ServiceException("Service failed"));
+
+        // When
+        Mono<String> retried = failing.retryWhen(retryPolicies.toRetry("test", RetryBudget.defaults()));
+
+        // Then
+        StepVerifier.create(retried.log())
+                .expectError(ServiceException.class)
+                .verify();
+
+        assertThat(attempts.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must stop retrying once the shared retry budget is spent.")
+    public void toRetryBudgetExhaustedTest() {
+        // Given
+        RetryBudget retryBudget = new RetryBudget(1, 0);
+        Mono<String> failing = failWith(() -> new NetworkException("Network down"));
+
+        // When
+        Mono<String> retried = failing.retryWhen(retryPolicies.toRetry("test", retryBudget));
+
+        // Then
+        StepVerifier.create(retried.log())
+                .expectError(NetworkException.class)
+                .verify();
+
+        assertThat(attempts.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Must wait out the backoff on the given timer scheduler.")
+    public void toRetryTimerTest() {
+        // Given
+        Scheduler timer = Schedulers.newSingle("retry-timer");
+        AtomicReference<String> retriedOn = new AtomicReference<>();
+        Mono<String> failing = Mono.defer(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                return Mono.error(new NetworkException("Network down"));
+            }
+
+            retriedOn.set(Thread.currentThread().getName());
+
+            return Mono.just("recovered");
+        });
+
+        // When
+        Mono<String> retried = failing.retryWhen(retryPolicies.toRetry("test", RetryBudget.defaults(), timer));
+
+        // Then
+        StepVerifier.create(retried.log())
+                .expectNext("recovered")
+                .verifyComplete();
+
+        assertThat(retriedOn.get())
+                .startsWith("retry-timer");
+
+        timer.dispose();
+    }
+
+    @Test
+    @DisplayName("Must keep jittered backoff between zero and the exponential ceiling.")
+    public void backoffTest() {
+        // Given
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .minBackoff(Duration.ofMillis(100))
+                .maxBackoff(Duration.ofMillis(1_000))
+                .build();
+
+        // When
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryPolicy.backoff(1))
+                    .isBetween(Duration.ZERO, Duration.ofMillis(200));
+            assertThat(retryPolicy.backoff(10))
+                    .isBetween(Duration.ZERO, Duration.ofMillis(1_000));
+        }
+    }
+
+    private Mono<String> failWith(Supplier<RuntimeException> failure) {
+        return Mono.defer(() -> {
+            attempts.incrementAndGet();
+
+            return Mono.error(failure.get());
+        });
+    }
+}
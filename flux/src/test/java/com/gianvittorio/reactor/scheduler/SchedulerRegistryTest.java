@@ -0,0 +1,186 @@
+package com.gianvittorio.reactor.scheduler;
+
+import com.gianvittorio.reactor.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchedulerRegistryTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SchedulerRegistry schedulerRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ServiceMetrics.useRegistry(meterRegistry);
+
+        schedulerRegistry = new SchedulerRegistry(
+                SchedulerRegistryConfig.builder()
+                        .namePrefix("test")
+                        .cpuParallelism(2)
+                        .blockingThreadCap(2)
+                        .build()
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        schedulerRegistry.dispose();
+        ServiceMetrics.useRegistry(Metrics.globalRegistry);
+    }
+
+    @Test
+    @DisplayName("Must run each workload on its own named pool.")
+    public void getTest() {
+        // Given
+
+        // When
+        Mono<String> cpuThread = currentThreadName().subscribeOn(schedulerRegistry.cpu());
+        Mono<String> ioThread = currentThreadName().subscribeOn(schedulerRegistry.blockingIo());
+        Mono<String> revenueThread = currentThreadName().subscribeOn(schedulerRegistry.get(Workload.REVENUE));
+
+        // Then
+        StepVerifier.create(cpuThread)
+                .assertNext(threadName -> assertThat(threadName).startsWith("test-cpu"))
+                .verifyComplete();
+        StepVerifier.create(ioThread)
+                .assertNext(threadName -> assertThat(threadName).startsWith("test-io"))
+                .verifyComplete();
+        StepVerifier.create(revenueThread)
+                .assertNext(threadName -> assertThat(threadName).startsWith("test-revenue"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must publish executor metrics tagged with the workload.")
+    public void metricsTest() {
+        // Given
+
+        // When
+        StepVerifier.create(currentThreadName().subscribeOn(schedulerRegistry.cpu()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.find("executor.completed").tag("workload", "cpu").functionCounters())
+                .isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Must dispose only the pools it owns.")
+    public void disposeTest() {
+        // Given
+
+        // When
+        schedulerRegistry.dispose();
+        SchedulerRegistry.global().dispose();
+
+        // Then
+        assertThat(schedulerRegistry.isDisposed())
+                .isTrue();
+        assertThat(SchedulerRegistry.global().isDisposed())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Must give revenue calls a dedicated pool even in the shared registry.")
+    public void globalRevenueTest() {
+        // Given
+
+        // When
+        Scheduler revenue = SchedulerRegistry.global().revenue();
+
+        // Then
+        assertThat(revenue)
+                .isNotSameAs(Schedulers.boundedElastic());
+        assertThat(Scannable.from(revenue).scanOrDefault(Scannable.Attr.NAME, ""))
+                .contains("movies-revenue");
+    }
+
+    @Test
+    @DisplayName("Must run blocking workloads on virtual threads when the JDK supports them, on bounded elastic otherwise.")
+    public void virtualThreadsTest() {
+        // Given
+        SchedulerRegistry virtualRegistry = new SchedulerRegistry(
+                SchedulerRegistryConfig.builder()
+                        .namePrefix("virtual")
+                        .blockingMode(BlockingMode.VIRTUAL_THREADS)
+                        .build()
+        );
+
+        // When
+        Mono<String> ioThread = Mono.fromCallable(() -> Thread.currentThread().toString())
+                .subscribeOn(virtualRegistry.blockingIo());
+
+        // Then
+        StepVerifier.create(ioThread)
+                .assertNext(thread -> {
+                    assertThat(thread).contains("virtual-io");
+
+                    if (VirtualThreadScheduler.isSupported()) {
+                        assertThat(thread).startsWith("VirtualThread");
+                    }
+                })
+                .verifyComplete();
+
+        virtualRegistry.dispose();
+    }
+
+    @Test
+    @DisplayName("Must run tasks on named virtual threads on JDK 21 or later.")
+    public void virtualThreadSchedulerTest() {
+        // Given
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or later");
+
+        assertThat(VirtualThreadScheduler.isSupported())
+                .isTrue();
+
+        Scheduler virtual = VirtualThreadScheduler.create("virtual");
+
+        // When
+        Mono<String> thread = Mono.fromCallable(() -> Thread.currentThread().toString())
+                .subscribeOn(virtual);
+
+        // Then
+        StepVerifier.create(thread)
+                .assertNext(name -> assertThat(name).startsWith("VirtualThread").contains("virtual-0"))
+                .verifyComplete();
+
+        virtual.dispose();
+
+        assertThat(virtual.isDisposed())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Must refuse to create a virtual thread scheduler on a JDK without virtual threads.")
+    public void virtualThreadSchedulerUnsupportedTest() {
+        // Given
+        Assumptions.assumeFalse(VirtualThreadScheduler.isSupported());
+
+        // When
+
+        // Then
+        assertThatThrownBy(() -> VirtualThreadScheduler.create("virtual"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static Mono<String> currentThreadName() {
+        return Mono.fromCallable(() -> Thread.currentThread().getName());
+    }
+}
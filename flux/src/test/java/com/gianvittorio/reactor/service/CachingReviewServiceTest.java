@@ -0,0 +1,76 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.config.MovieAggregationOptions;
+import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.domain.MovieChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class CachingReviewServiceTest {
+
+    private ReviewService reviewService;
+
+    private CachingReviewService cachingReviewService;
+
+    private MovieReactiveService movieReactiveService;
+
+    @BeforeEach
+    public void setUp() {
+        reviewService = spy(new ReviewService());
+        cachingReviewService = new CachingReviewService(reviewService);
+
+        movieReactiveService = new MovieReactiveService(new MovieInfoService(), cachingReviewService);
+    }
+
+    @Test
+    @DisplayName("Must serve repeated review lookups from the cache.")
+    public void getAllMoviesCachedTest() {
+        // Given
+
+        // When
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMovies()
+                .concatWith(movieReactiveService.getAllMovies());
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(6)
+                .verifyComplete();
+
+        verify(reviewService, times(3))
+                .retrieveReviewsFlux(anyLong());
+        assertThat(cachingReviewService.reviewsCacheStats().hitCount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Must reload reviews of movies reported by the change feed instead of serving them from the cache.")
+    public void getMovieChangesInvalidatesCacheTest() {
+        // Given
+        StepVerifier.create(movieReactiveService.getAllMovies())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        // When
+        Flux<MovieChange> changesFlux = movieReactiveService.getMovieChanges(0l)
+                .take(3);
+
+        // Then
+        StepVerifier.create(changesFlux.log())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        verify(reviewService, times(1))
+                .retrieveReviewChanges(0l, MovieAggregationOptions.defaults().getChangeBatchSize());
+        verify(reviewService, times(2))
+                .retrieveReviewsFlux(100l);
+        verify(reviewService, times(1))
+                .retrieveReviewsFlux(101l);
+    }
+}
@@ -1,7 +1,6 @@
 package com.gianvittorio.reactor.service;
 
 import com.gianvittorio.reactor.exception.ReactorException;
-import lombok.var;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
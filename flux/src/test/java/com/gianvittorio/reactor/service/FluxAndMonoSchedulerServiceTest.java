@@ -57,6 +57,20 @@ public class FluxAndMonoSchedulerServiceTest {
                 .expectComplete();
     }
 
+    @Test
+    public void exploreParallelTransformTest() {
+        // Given
+
+        // When
+        Flux<String> flux = fluxAndMonoSchedulerService.exploreParallelTransform();
+
+        // Then
+        StepVerifier.create(flux.log())
+                .expectSubscription()
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
     @Test
     public void exploreParallelUsingFlatMapTest() {
         // Given
@@ -85,6 +99,20 @@ public class FluxAndMonoSchedulerServiceTest {
                 .expectComplete();
     }
 
+    @Test
+    public void exploreParallelUsingOrderedMapTest() {
+        // Given
+
+        // When
+        Flux<String> flux = fluxAndMonoSchedulerService.exploreParallelUsingOrderedMap();
+
+        // Then
+        StepVerifier.create(flux.log())
+                .expectSubscription()
+                .expectNext("ALEX", "BEN", "CHLOE")
+                .verifyComplete();
+    }
+
     @Test
     public void exploreParallelUsingFlatMap1Test() {
         // Given
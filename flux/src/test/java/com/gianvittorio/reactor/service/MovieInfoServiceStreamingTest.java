@@ -0,0 +1,113 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.client.HttpClientConfig;
+import com.gianvittorio.reactor.client.WebClientFactory;
+import com.gianvittorio.reactor.domain.MovieInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieInfoServiceStreamingTest {
+
+    private static final String BATMAN_BEGINS = "{\"movieInfoId\":100,\"name\":\"Batman Begins\",\"year\":2005}";
+
+    private static final String THE_DARK_KNIGHT = "{\"movieInfoId\":101,\"name\":\"The Dark Knight\",\"year\":2008}";
+
+    private DisposableServer server;
+
+    private WebClientFactory webClientFactory;
+
+    @AfterEach
+    public void tearDown() {
+        webClientFactory.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Must emit each NDJSON line as soon as it arrives.")
+    public void retrieveAllMovieInfoRestClientNdjsonTest() {
+        // Given
+        Sinks.Many<String> body = Sinks.many().unicast().onBackpressureBuffer();
+        MovieInfoService movieInfoService = startService("application/x-ndjson", body.asFlux(), HttpClientConfig.defaults());
+
+        // When
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveAllMovieInfoRestClient();
+
+        // Then
+        StepVerifier.create(movieInfoFlux.log())
+                .then(() -> body.tryEmitNext(BATMAN_BEGINS + "\n"))
+                .assertNext(movieInfo -> assertThat(movieInfo.getName()).isEqualTo("Batman Begins"))
+                .then(() -> {
+                    body.tryEmitNext(THE_DARK_KNIGHT + "\n");
+                    body.tryEmitComplete();
+                })
+                .assertNext(movieInfo -> assertThat(movieInfo.getName()).isEqualTo("The Dark Knight"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must emit each JSON array element before the whole array is downloaded.")
+    public void retrieveAllMovieInfoRestClientJsonArrayTest() {
+        // Given
+        Sinks.Many<String> body = Sinks.many().unicast().onBackpressureBuffer();
+        MovieInfoService movieInfoService = startService("application/json", body.asFlux(), HttpClientConfig.defaults());
+
+        // When
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveAllMovieInfoRestClient();
+
+        // Then
+        StepVerifier.create(movieInfoFlux.log())
+                .then(() -> body.tryEmitNext("[" + BATMAN_BEGINS + ","))
+                .assertNext(movieInfo -> assertThat(movieInfo.getName()).isEqualTo("Batman Begins"))
+                .then(() -> {
+                    body.tryEmitNext(THE_DARK_KNIGHT + "]");
+                    body.tryEmitComplete();
+                })
+                .assertNext(movieInfo -> assertThat(movieInfo.getName()).isEqualTo("The Dark Knight"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must fail an element that keeps growing past the in-memory buffer limit.")
+    public void retrieveAllMovieInfoRestClientBufferLimitTest() {
+        // Given
+        HttpClientConfig config = HttpClientConfig.builder()
+                .maxInMemorySize(16)
+                .build();
+        Sinks.Many<String> body = Sinks.many().unicast().onBackpressureBuffer();
+        MovieInfoService movieInfoService = startService("application/json", body.asFlux(), config);
+
+        // When
+        Flux<MovieInfo> movieInfoFlux = movieInfoService.retrieveAllMovieInfoRestClient();
+
+        // Then
+        StepVerifier.create(movieInfoFlux.log())
+                .then(() -> body.tryEmitNext("[" + BATMAN_BEGINS.substring(0, 30)))
+                .expectErrorSatisfies(ex -> assertThat(ex)
+                        .hasCauseInstanceOf(DataBufferLimitException.class))
+                .verify();
+    }
+
+    private MovieInfoService startService(String contentType, Flux<String> body, HttpClientConfig config) {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get(
+                        "/movies/v1/movie_infos",
+                        (request, response) -> response.header("Content-Type", contentType)
+                                .sendString(body)
+                ))
+                .bindNow();
+
+        webClientFactory = new WebClientFactory(config);
+
+        return new MovieInfoService(webClientFactory.createWebClient("http://localhost:" + server.port() + "/movies"));
+    }
+}
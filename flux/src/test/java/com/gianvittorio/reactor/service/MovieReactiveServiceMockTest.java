@@ -1,14 +1,23 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.batch.BatchingConfig;
+import com.gianvittorio.reactor.config.MovieAggregationOptions;
+import com.gianvittorio.reactor.domain.CatalogChange;
 import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.domain.MovieAggregationFailure;
+import com.gianvittorio.reactor.domain.MovieChange;
+import com.gianvittorio.reactor.domain.MovieInfo;
+import com.gianvittorio.reactor.domain.Review;
+import com.gianvittorio.reactor.exception.CallNotPermittedException;
 import com.gianvittorio.reactor.exception.MovieException;
 import com.gianvittorio.reactor.exception.NetworkException;
 import com.gianvittorio.reactor.exception.ServiceException;
+import com.gianvittorio.reactor.retry.RetryPolicies;
+import com.gianvittorio.reactor.retry.RetryPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.exceptions.base.MockitoException;
@@ -17,8 +26,15 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -31,9 +47,13 @@ public class MovieReactiveServiceMockTest {
     @Mock
     private ReviewService reviewService;
 
-    @InjectMocks
     private MovieReactiveService movieReactiveService;
 
+    @BeforeEach
+    public void setUp() {
+        movieReactiveService = new MovieReactiveService(movieInfoService, reviewService);
+    }
+
     @Test
     @DisplayName("Must return all movies.")
     public void getAllMoviesTest() {
@@ -194,4 +214,479 @@ public class MovieReactiveServiceMockTest {
         verify(reviewService, times(9))
                 .retrieveReviewsFlux(isA(Long.class));
     }
+
+    @Test
+    @DisplayName("Must look reviews up once per batch of movies.")
+    public void getAllMoviesBatchedTest() {
+        // Given
+        final int batchSize = 10;
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFluxBatch(anyList()))
+                .thenCallRealMethod();
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesBatched(batchSize, Duration.ofMillis(100));
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        verify(reviewService, times(1))
+                .retrieveReviewsFluxBatch(anyList());
+        verify(reviewService, never())
+                .retrieveReviewsFlux(anyLong());
+    }
+
+    @Test
+    @DisplayName("Must queue partial batches instead of overflowing while batch lookups are slower than the catalog.")
+    public void getAllMoviesBatchedSlowReviewsTest() {
+        // Given
+        final int movieCount = 12;
+        movieReactiveService = new MovieReactiveService(movieInfoService, reviewService, MovieAggregationOptions.builder()
+                .concurrency(2)
+                .build());
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenReturn(
+                        Flux.interval(Duration.ofMillis(15))
+                                .take(movieCount)
+                                .map(id -> MovieInfo.builder().movieInfoId(id).name("Movie " + id).build())
+                );
+
+        when(reviewService.retrieveReviewsFluxBatch(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Long>>getArgument(0))
+                        .map(id -> new Review(id, id, "Slow review", 8.0))
+                        .delaySubscription(Duration.ofMillis(200)));
+
+        Flux<Long> movieIdsFlux = movieReactiveService.getAllMoviesBatched(2, Duration.ofMillis(10))
+                .map(movie -> movie.getReviewList().get(0).getMovieInfoId());
+
+        // Then
+        StepVerifier.create(movieIdsFlux.log())
+                .recordWith(ArrayList::new)
+                .expectNextCount(movieCount)
+                .consumeRecordedWith(movieIds -> assertThat(movieIds)
+                        .containsExactlyInAnyOrder(0l, 1l, 2l, 3l, 4l, 5l, 6l, 7l, 8l, 9l, 10l, 11l))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Must fail rather than buffer the whole catalog once more batches queue up than allowed.")
+    public void getAllMoviesBatchedQueueFullTest() {
+        // Given
+        movieReactiveService = new MovieReactiveService(movieInfoService, reviewService, MovieAggregationOptions.builder()
+                .concurrency(1)
+                .maxQueuedBatches(1)
+                .build());
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenReturn(
+                        Flux.interval(Duration.ofMillis(5))
+                                .take(20)
+                                .map(id -> MovieInfo.builder().movieInfoId(id).name("Movie " + id).build())
+                );
+
+        when(reviewService.retrieveReviewsFluxBatch(anyList()))
+                .thenReturn(Flux.<Review>empty().delaySubscription(Duration.ofMillis(200)));
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesBatched(2, Duration.ofMillis(10));
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .thenConsumeWhile(movie -> true)
+                .expectError(MovieException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Must share a single lookup among concurrent requests for the same movie.")
+    public void getMovieByIdCoalescedTest() {
+        // Given
+        final long movieId = 100l;
+
+        // When
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFluxBatch(anyList()))
+                .thenCallRealMethod();
+
+        Flux<Movie> moviesFlux = Flux.range(0, 10)
+                .flatMap(i -> movieReactiveService.getMovieByIdCoalesced(movieId));
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(10)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1))
+                .retrieveMovieInfoMonoUsingId(movieId);
+        verify(reviewService, times(1))
+                .retrieveReviewsFluxBatch(List.of(movieId));
+    }
+
+    @Test
+    @DisplayName("Must retry only the failing review lookup, without re-fetching the catalog.")
+    public void getAllMoviesWithReviewRetryTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .reviewRetryPolicies(
+                        RetryPolicies.none()
+                                .with(NetworkException.class, RetryPolicy.builder().minBackoff(Duration.ofMillis(10)).build())
+                )
+                .build();
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenThrow(new NetworkException("Exception occurred int ReviewService"))
+                .thenCallRealMethod();
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMovies(options);
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1))
+                .retrieveMoviesFlux();
+        verify(reviewService, times(4))
+                .retrieveReviewsFlux(isA(Long.class));
+    }
+
+    @Test
+    @DisplayName("Must not re-emit or re-aggregate movies already delivered when the catalog has to be re-fetched.")
+    public void getAllMoviesWithElementRetryTest() {
+        // Given
+        MovieInfoService realMovieInfoService = new MovieInfoService();
+        Flux<MovieInfo> catalog = realMovieInfoService.retrieveMoviesFlux();
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenReturn(catalog.take(2).concatWith(Flux.error(new NetworkException("Catalog connection reset"))))
+                .thenReturn(catalog);
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod();
+
+        Flux<Long> movieIdsFlux = movieReactiveService.getAllMoviesWithElementRetry()
+                .map(movie -> movie.getMovieInfo().getMovieInfoId());
+
+        // Then
+        StepVerifier.create(movieIdsFlux.log())
+                .expectNext(100l, 101l, 102l)
+                .verifyComplete();
+
+        verify(movieInfoService, times(2))
+                .retrieveMoviesFlux();
+        verify(reviewService, times(3))
+                .retrieveReviewsFlux(isA(Long.class));
+    }
+
+    @Test
+    @DisplayName("Must serve movies with an empty review list while the reviews circuit is open.")
+    public void getAllMoviesRestClientDegradedTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .degradeReviewsWhenOpen(true)
+                .build();
+
+        // When
+        when(movieInfoService.retrieveAllMovieInfoRestClient())
+                .thenReturn(new MovieInfoService().retrieveMoviesFlux());
+
+        when(reviewService.retrieveReviewsFluxRestClient(anyLong()))
+                .thenReturn(Flux.error(new CallNotPermittedException("Circuit breaker 'review' is OPEN, call not permitted")));
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesRestClient(options);
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .thenConsumeWhile(movie -> movie.getReviewList().isEmpty())
+                .verifyComplete();
+
+        verify(reviewService, times(3))
+                .retrieveReviewsFluxRestClient(isA(Long.class));
+    }
+
+    @Test
+    @DisplayName("Must give up on slow review lookups once the caller's deadline passes.")
+    public void getAllMoviesDeadlineTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .deadline(Duration.ofMillis(100))
+                .build();
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenReturn(
+                        Flux.interval(Duration.ofMillis(20))
+                                .map(tick -> MovieInfo.builder().movieInfoId(tick).name("Movie " + tick).build())
+                );
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenReturn(Flux.empty());
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMovies(options);
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .thenConsumeWhile(movie -> true)
+                .expectErrorMessage("Deadline exceeded, call cancelled")
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Must serve a partial movie, stale reviews first, and report the failure instead of failing the stream.")
+    public void getAllMoviesPartialResultsTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .partialResults(true)
+                .ordered(true)
+                .build();
+        List<MovieAggregationFailure> failures = new ArrayList<>();
+        movieReactiveService.aggregationFailures()
+                .subscribe(failures::add);
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod()
+                .thenCallRealMethod()
+                .thenCallRealMethod()
+                .thenReturn(Flux.error(new NetworkException("Exception occurred int ReviewService")));
+
+        StepVerifier.create(movieReactiveService.getAllMovies(options))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMovies(options);
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .thenConsumeWhile(movie -> movie.isPartial() && movie.getReviewList().size() == 1)
+                .verifyComplete();
+
+        assertThat(failures)
+                .hasSize(3)
+                .allMatch(failure -> failure.isServedStale() && failure.getCause() instanceof NetworkException);
+    }
+
+    @Test
+    @DisplayName("Must serve a movie without revenue when the revenue lookup times out.")
+    public void getMovieByIdWithRevenuePartialResultsTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .partialResults(true)
+                .elementTimeout(Duration.ofMillis(100))
+                .build();
+        RevenueService revenueService = new RevenueService();
+        MovieReactiveService revenueMovieService = new MovieReactiveService(
+                movieInfoService, reviewService, new ReactiveRevenueService(revenueService), options);
+
+        // When
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod();
+
+        Mono<Movie> movieMono = revenueMovieService.getMovieByIdWithRevenue(100l);
+
+        // Then
+        StepVerifier.create(movieMono.log())
+                .assertNext(movie -> {
+                    assertThat(movie.isPartial()).isTrue();
+                    assertThat(movie.getRevenue()).isNull();
+                    assertThat(movie.getReviewList()).hasSize(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must fail fast on revenue lookups when built without a revenue service.")
+    public void getAllMoviesWithRevenueWithoutRevenueServiceTest() {
+        // Given
+
+        // When
+
+        // Then
+        assertThatThrownBy(() -> movieReactiveService.getAllMoviesWithRevenue(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("without a revenue service");
+        assertThatThrownBy(() -> movieReactiveService.getMovieByIdWithRevenue(100l))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("without a revenue service");
+    }
+
+    @Test
+    @DisplayName("Must keep source order through a bounded reorder buffer when the first movie is slow.")
+    public void getAllMoviesOrderedBoundedTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .ordered(true)
+                .reorderBufferSize(2)
+                .build();
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenAnswer(invocation -> {
+                    long movieInfoId = invocation.getArgument(0);
+                    Flux<Review> reviews = Flux.just(Review.builder().reviewId(1L).movieInfoId(movieInfoId).comment("Awesome Movie").rating(8.9).build());
+
+                    return movieInfoId == 100L ? reviews.delayElements(Duration.ofMillis(100)) : reviews;
+                });
+
+        Flux<Long> movieInfoIds = movieReactiveService.getAllMovies(options)
+                .map(movie -> movie.getMovieInfo().getMovieInfoId());
+
+        // Then
+        StepVerifier.create(movieInfoIds.log())
+                .expectNext(100L, 101L, 102L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Must run the catalog aggregation once for every subscriber of the shared feed.")
+    public void getAllMoviesSharedTest() {
+        // Given
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod();
+
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesShared();
+
+        // Then
+        StepVerifier.create(Flux.merge(moviesFlux, moviesFlux, moviesFlux).log())
+                .expectNextCount(9)
+                .verifyComplete();
+        StepVerifier.create(moviesFlux.log())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1))
+                .retrieveMoviesFlux();
+        verify(reviewService, times(3))
+                .retrieveReviewsFlux(anyLong());
+    }
+
+    @Test
+    @DisplayName("Must emit only changed movies in version order and then poll from the advanced watermark.")
+    public void getMovieChangesTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .changePollInterval(Duration.ofMillis(50))
+                .build();
+        movieReactiveService = new MovieReactiveService(movieInfoService, reviewService, options);
+
+        // When
+        when(movieInfoService.retrieveMovieInfoChanges(anyLong(), anyInt()))
+                .thenCallRealMethod();
+        when(reviewService.retrieveReviewChanges(anyLong(), anyInt()))
+                .thenCallRealMethod();
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenCallRealMethod();
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod();
+
+        Flux<MovieChange> changesFlux = movieReactiveService.getMovieChanges(0);
+
+        // Then
+        StepVerifier.create(changesFlux.log())
+                .assertNext(change -> assertThat(change.getVersion()).isEqualTo(2))
+                .assertNext(change -> assertThat(change.getVersion()).isEqualTo(3))
+                .assertNext(change -> {
+                    assertThat(change.getMovieInfoId()).isEqualTo(100);
+                    assertThat(change.getVersion()).isEqualTo(4);
+                    assertThat(change.getMovie().getReviewList()).hasSize(1);
+                })
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+
+        verify(movieInfoService, times(3))
+                .retrieveMovieInfoMonoUsingId(anyLong());
+        verify(movieInfoService, atLeastOnce())
+                .retrieveMovieInfoChanges(4L, options.getChangeBatchSize());
+    }
+
+    @Test
+    @DisplayName("Must emit a tombstone for a deleted movie without loading it.")
+    public void getMovieChangesTombstoneTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .changePollInterval(Duration.ofMillis(50))
+                .build();
+        movieReactiveService = new MovieReactiveService(movieInfoService, reviewService, options);
+
+        // When
+        when(movieInfoService.retrieveMovieInfoChanges(anyLong(), anyInt()))
+                .thenReturn(Flux.just(CatalogChange.builder().movieInfoId(101L).version(7L).deleted(true).build()))
+                .thenReturn(Flux.empty());
+        when(reviewService.retrieveReviewChanges(anyLong(), anyInt()))
+                .thenReturn(Flux.empty());
+
+        Flux<MovieChange> changesFlux = movieReactiveService.getMovieChanges(6);
+
+        // Then
+        StepVerifier.create(changesFlux.log())
+                .assertNext(change -> {
+                    assertThat(change.isTombstone()).isTrue();
+                    assertThat(change.getMovieInfoId()).isEqualTo(101);
+                    assertThat(change.getMovie()).isNull();
+                })
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+
+        verify(movieInfoService, never())
+                .retrieveMovieInfoMonoUsingId(anyLong());
+        verify(movieInfoService, atLeastOnce())
+                .retrieveMovieInfoChanges(7L, options.getChangeBatchSize());
+    }
+
+    @Test
+    @DisplayName("Must write all movies to the warehouse in batches.")
+    public void exportAllMoviesTest() {
+        // Given
+        BatchingConfig batchingConfig = BatchingConfig.builder()
+                .batchSize(2)
+                .build();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        when(movieInfoService.retrieveMoviesFlux())
+                .thenCallRealMethod();
+
+        when(reviewService.retrieveReviewsFlux(anyLong()))
+                .thenCallRealMethod();
+
+        Mono<Void> export = movieReactiveService.exportAllMovies(movies -> Mono.fromRunnable(() -> batchSizes.add(movies.size())), batchingConfig);
+
+        // Then
+        StepVerifier.create(export)
+                .verifyComplete();
+
+        assertThat(batchSizes)
+                .containsExactly(2, 1);
+    }
 }
@@ -1,6 +1,8 @@
 package com.gianvittorio.reactor.service;
 
+import com.gianvittorio.reactor.config.MovieAggregationOptions;
 import com.gianvittorio.reactor.domain.Movie;
+import com.gianvittorio.reactor.util.RequestBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class MovieReactiveServiceTest {
@@ -61,6 +66,32 @@ public class MovieReactiveServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Must return all movies, looking reviews up in batches.")
+    public void getAllMoviesBatchedTest() {
+        // Given
+        final int batchSize = 2;
+
+        // When
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesBatched(batchSize, Duration.ofMillis(100));
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectSubscription()
+                .recordWith(ArrayList::new)
+                .expectNextCount(3)
+                .consumeRecordedWith(movies -> {
+                    assertThat(movies)
+                            .extracting(movie -> movie.getMovieInfo().getName())
+                            .containsExactlyInAnyOrder("Batman Begins", "The Dark Knight", "Dark Knight Rises");
+                    assertThat(movies)
+                            .allSatisfy(movie -> assertThat(movie.getReviewList())
+                                    .hasSize(1)
+                                    .allMatch(review -> review.getMovieInfoId().equals(movie.getMovieInfo().getMovieInfoId())));
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Must get moviw by id.")
     public void getMovieById() {
@@ -102,4 +133,47 @@ public class MovieReactiveServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Must return all movies with revenue.")
+    public void getAllMoviesWithRevenueTest() {
+        // Given
+        final int concurrency = 3;
+
+        // When
+        Flux<Movie> moviesFlux = movieReactiveService.getAllMoviesWithRevenue(concurrency);
+
+        // Then
+        StepVerifier.create(moviesFlux.log())
+                .expectSubscription()
+                .thenConsumeWhile(movie -> true, movie -> {
+                    assertThat(movie.getReviewList().size())
+                            .isEqualTo(1);
+                    assertThat(movie.getRevenue().getMovieInfoId())
+                            .isEqualTo(movie.getMovieInfo().getMovieInfoId());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Must return all movies in source order, within the request budget.")
+    public void getAllMoviesWithOptionsTest() {
+        // Given
+        MovieAggregationOptions options = MovieAggregationOptions.builder()
+                .concurrency(2)
+                .prefetch(1)
+                .ordered(true)
+                .requestBudget(new RequestBudget(1))
+                .build();
+
+        // When
+        Flux<String> movieNamesFlux = movieReactiveService.getAllMovies(options)
+                .map(movie -> movie.getMovieInfo().getName());
+
+        // Then
+        StepVerifier.create(movieNamesFlux.log())
+                .expectNext("Batman Begins", "The Dark Knight", "Dark Knight Rises")
+                .verifyComplete();
+    }
 }
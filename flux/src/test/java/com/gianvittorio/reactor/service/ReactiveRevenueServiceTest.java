@@ -0,0 +1,161 @@
+package com.gianvittorio.reactor.service;
+
+import com.gianvittorio.reactor.cache.ReactiveCacheConfig;
+import com.gianvittorio.reactor.domain.Revenue;
+import com.gianvittorio.reactor.exception.ServiceException;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistry;
+import com.gianvittorio.reactor.scheduler.SchedulerRegistryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.gianvittorio.reactor.util.CommonUtil.delay;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveRevenueServiceTest {
+
+    private ReactiveRevenueService reactiveRevenueService;
+
+    @BeforeEach
+    public void setUp() {
+        reactiveRevenueService = new ReactiveRevenueService(new RevenueService(), 2, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reactiveRevenueService.dispose();
+    }
+
+    @Test
+    @DisplayName("Must get revenue without blocking the caller.")
+    public void getRevenueTest() {
+        // Given
+        final long movieId = 100l;
+
+        // When
+        Mono<Revenue> revenueMono = reactiveRevenueService.getRevenue(movieId);
+
+        // Then
+        StepVerifier.create(revenueMono.log())
+                .assertNext(revenue -> assertThat(revenue.getMovieInfoId()).isEqualTo(movieId))
+                .verifyComplete();
+
+        assertThat(reactiveRevenueService.inFlightCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must get revenues in bulk, in request order.")
+    public void getRevenuesTest() {
+        // Given
+        final List<Long> movieIds = List.of(100l, 101l, 102l, 103l);
+
+        // When
+        Flux<Long> revenueFlux = reactiveRevenueService.getRevenues(movieIds)
+                .map(Revenue::getMovieInfoId);
+
+        // Then
+        StepVerifier.create(revenueFlux.log())
+                .expectNextSequence(movieIds)
+                .verifyComplete();
+
+        assertThat(reactiveRevenueService.rejectedCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Must shed load once the thread and queue caps are used up.")
+    public void getRevenueSaturatedTest() {
+        // Given
+
+        // When
+        Flux<Revenue> revenueFlux = Flux.range(100, 4)
+                .flatMap(reactiveRevenueService::getRevenue);
+
+        // Then
+        StepVerifier.create(revenueFlux.log())
+                .expectError(ServiceException.class)
+                .verify();
+
+        assertThat(reactiveRevenueService.rejectedCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Must hold the permit of a cancelled call until its blocking task finishes.")
+    public void getRevenueCancelledTest() {
+        // Given
+        ReactiveRevenueService uninterruptibleRevenueService = new ReactiveRevenueService(new RevenueService() {
+            @Override
+            public Revenue getRevenue(long movieId) {
+                long endNanos = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+
+                while (System.nanoTime() < endNanos) {
+                    Thread.onSpinWait();
+                }
+
+                return Revenue.builder().movieInfoId(movieId).build();
+            }
+        }, 2, 1);
+
+        Disposable revenueCall = uninterruptibleRevenueService.getRevenue(100l)
+                .subscribe();
+        delay(200);
+
+        // When
+        revenueCall.dispose();
+
+        // Then
+        try {
+            assertThat(uninterruptibleRevenueService.inFlightCount())
+                    .isEqualTo(1);
+
+            delay(1_200);
+
+            assertThat(uninterruptibleRevenueService.inFlightCount())
+                    .isZero();
+        } finally {
+            uninterruptibleRevenueService.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Must not deadlock the revenue pool when concurrent cache misses outnumber its threads.")
+    public void getRevenueCachedMissesTest() {
+        // Given
+        SchedulerRegistry schedulers = new SchedulerRegistry(
+                SchedulerRegistryConfig.builder()
+                        .revenueThreadCap(2)
+                        .metricsEnabled(false)
+                        .build()
+        );
+        CachingRevenueService cachingRevenueService = new CachingRevenueService(new RevenueService(), ReactiveCacheConfig.defaults(), schedulers);
+        ReactiveRevenueService cachedRevenueService = new ReactiveRevenueService(cachingRevenueService, schedulers);
+
+        // When
+        Flux<Revenue> revenueFlux = Flux.range(100, 4)
+                .concatWith(Flux.range(100, 4))
+                .flatMap(cachedRevenueService::getRevenue);
+
+        // Then
+        try {
+            StepVerifier.create(revenueFlux.log())
+                    .expectNextCount(8)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(cachingRevenueService.revenueCacheStats().missCount())
+                    .isEqualTo(4);
+        } finally {
+            schedulers.dispose();
+        }
+    }
+}
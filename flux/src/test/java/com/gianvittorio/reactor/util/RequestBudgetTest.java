@@ -0,0 +1,75 @@
+package com.gianvittorio.reactor.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestBudgetTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    @Test
+    @DisplayName("Must never run more sources than the budget allows, across subscribers.")
+    public void withPermitTest() {
+        // Given
+        final int maxInFlight = 2;
+        RequestBudget requestBudget = new RequestBudget(maxInFlight);
+
+        // When
+        Flux<Integer> first = Flux.range(0, 5)
+                .flatMap(i -> requestBudget.withPermit(track(i)));
+        Flux<Integer> second = Flux.range(5, 5)
+                .flatMap(i -> requestBudget.withPermit(track(i)));
+
+        // Then
+        StepVerifier.create(first.mergeWith(second).log())
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertThat(maxObserved.get())
+                .isEqualTo(maxInFlight);
+        assertThat(requestBudget.availablePermits())
+                .isEqualTo(maxInFlight);
+    }
+
+    @Test
+    @DisplayName("Must give the permit back when a waiting subscriber cancels.")
+    public void withPermitCancelTest() {
+        // Given
+        RequestBudget requestBudget = new RequestBudget(1);
+
+        // When
+        Supplier<Flux<Integer>> values = () -> Flux.range(0, 3)
+                .flatMap(i -> requestBudget.withPermit(track(i)))
+                .take(1);
+
+        // Then
+        StepVerifier.withVirtualTime(values)
+                .thenAwait(Duration.ofMillis(20))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(requestBudget.availablePermits())
+                .isEqualTo(1);
+        assertThat(requestBudget.waitingCount())
+                .isZero();
+    }
+
+    private Mono<Integer> track(int value) {
+        return Mono.delay(Duration.ofMillis(20))
+                .thenReturn(value)
+                .doOnSubscribe(subscription -> maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doOnTerminate(inFlight::decrementAndGet)
+                .doOnCancel(inFlight::decrementAndGet);
+    }
+}